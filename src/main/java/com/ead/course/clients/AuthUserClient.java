@@ -0,0 +1,30 @@
+package com.ead.course.clients;
+
+import com.ead.course.dtos.ResponsePageDto;
+import com.ead.course.dtos.UserRecordDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class AuthUserClient {
+
+    final RestClient restClient;
+
+    public AuthUserClient(RestClient.Builder restClientBuilder,
+                          @Value("${ead.api.url.authuser}") String baseUrlAuthUser) {
+        this.restClient = restClientBuilder.clone().baseUrl(baseUrlAuthUser).build();
+    }
+
+    public ResponsePageDto<UserRecordDto> getAllUsers(int page, int size) {
+        return restClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/users")
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .queryParam("sort", "userId,asc")
+                        .build())
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {});
+    }
+}
@@ -0,0 +1,45 @@
+package com.ead.course.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSES_CACHE = "courses";
+    public static final String MODULES_CACHE = "modules";
+    public static final String LESSONS_CACHE = "lessons";
+    public static final String PAGE_COUNTS_CACHE = "pageCounts";
+
+    @Value("${ead.cache.entity.maximumSize:10000}")
+    private long maximumSize;
+
+    @Value("${ead.cache.entity.expireAfterWrite:5m}")
+    private Duration expireAfterWrite;
+
+    /**
+     * Evictions and puts issued inside a transaction are applied after it commits: an entry a
+     * reader reloads from the old row while the write is still open is dropped once the new row
+     * is visible, and a rolled-back write leaves the cache as it was.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                COURSES_CACHE, MODULES_CACHE, LESSONS_CACHE, PAGE_COUNTS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -2,11 +2,21 @@ package com.ead.course.configs;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
+@Configuration
 public class RabbitmqConfig {
 
     final CachingConnectionFactory cachingConnectionFactory;
@@ -28,4 +38,58 @@ public class RabbitmqConfig {
         objectMapper.registerModule(new JavaTimeModule());
         return new Jackson2JsonMessageConverter(objectMapper);
     }
+
+    /**
+     * Hands user events to the listener in lists of up to {@code batchSize}; the whole list is
+     * acknowledged with one ack once the listener returns. {@code UserBatchConsumer} dead-letters
+     * the events it cannot apply itself, so a failed batch is dropped rather than requeued in a
+     * loop, unless the listener explicitly asks for a requeue.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "ead.broker.queue.userEventQueue.mode", havingValue = "batch")
+    public SimpleRabbitListenerContainerFactory userEventBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            @Value("${ead.broker.queue.userEventQueue.batchSize:500}") int batchSize,
+            @Value("${ead.broker.queue.userEventQueue.receiveTimeout:1000}") long receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, cachingConnectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        return factory;
+    }
+
+    /**
+     * Single ordered consumer with manual acks; {@code UserPartitionedConsumer} fans the deliveries
+     * out to its lanes and settles each one once its lane is done with it.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "ead.broker.queue.userEventQueue.mode", havingValue = "partitioned")
+    public SimpleRabbitListenerContainerFactory userEventPartitionedContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            @Value("${ead.broker.queue.userEventQueue.prefetch:250}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, cachingConnectionFactory);
+        factory.setMessageConverter(messageConverter());
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setPrefetchCount(prefetch);
+        return factory;
+    }
+
+    /**
+     * Dead-letter queue for user events that the batch and partitioned consumers give up on; events
+     * are republished here through the default exchange, keeping the main queue's arguments unchanged.
+     */
+    @Bean
+    @ConditionalOnExpression("'${ead.broker.queue.userEventQueue.mode:single}' != 'single'")
+    public Queue userEventDeadLetterQueue(@Value("${ead.broker.queue.userEventQueue.name}.dlq") String deadLetterQueue) {
+        return QueueBuilder.durable(deadLetterQueue).build();
+    }
 }
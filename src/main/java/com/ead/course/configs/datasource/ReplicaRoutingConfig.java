@@ -0,0 +1,115 @@
+package com.ead.course.configs.datasource;
+
+import com.ead.course.configs.security.UserDetailsImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with a primary pool plus one read-only pool
+ * per {@code ead.datasource.replicas.urls} entry, sharing the primary's credentials and its
+ * {@code spring.datasource.hikari} settings. Read-your-writes stickiness is keyed by the
+ * authenticated user id, the only callers that can write. Requests to mutating endpoints are
+ * pinned to the primary for their whole duration, so the entities they load before writing are
+ * never read from a lagging replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ead.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String REPLICA_HIKARI_PREFIX = "ead.datasource.replicas.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties, Environment environment, MeterRegistry meterRegistry,
+            @Value("${ead.datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${ead.datasource.replicas.connectionTimeout:PT1S}") Duration replicaConnectionTimeout,
+            @Value("${ead.datasource.replicas.stickiness:PT5S}") Duration stickiness,
+            @Value("${ead.datasource.replicas.maxLag:#{null}}") Duration maxLag) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = primaryPool(dataSourceProperties, binder);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(replicaPool(dataSourceProperties, binder, replicaUrls.get(i), i, replicaConnectionTimeout));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, ReplicaRoutingConfig::currentRequester,
+                stickiness, maxLag, meterRegistry);
+    }
+
+    /**
+     * Builds the primary pool with the {@code spring.datasource.hikari} settings, as the
+     * auto-configured pool it replaces would have.
+     */
+    static HikariDataSource primaryPool(DataSourceProperties dataSourceProperties, Binder binder) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * Builds a replica pool with the {@code spring.datasource.hikari} settings, overridden by
+     * {@code ead.datasource.replicas.hikari}. Its connection timeout defaults to a short one, so a
+     * replica that stops answering fails over to the primary instead of stalling the request.
+     */
+    static HikariDataSource replicaPool(DataSourceProperties dataSourceProperties, Binder binder, String url,
+                                        int index, Duration connectionTimeout) {
+        HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+        replica.setConnectionTimeout(connectionTimeout.toMillis());
+        binder.bind(REPLICA_HIKARI_PREFIX, Bindable.ofInstance(replica));
+        replica.setPoolName("replica-" + index);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimaryPinningFilter> primaryPinningFilter() {
+        FilterRegistrationBean<PrimaryPinningFilter> registration =
+                new FilterRegistrationBean<>(new PrimaryPinningFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static String currentRequester() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getPrincipal() instanceof UserDetailsImpl userDetails
+                ? userDetails.getUserId().toString()
+                : authentication.getName();
+    }
+}
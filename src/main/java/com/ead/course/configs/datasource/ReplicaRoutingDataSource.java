@@ -0,0 +1,190 @@
+package com.ead.course.configs.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of read-only transactions to a healthy read replica, round robin, and every
+ * other connection to the primary. Must sit behind a {@code LazyConnectionDataSourceProxy} so
+ * the target is chosen at the first statement, once the transaction's read-only flag is known.
+ * A requester that opened a read-write transaction keeps reading from the primary for the
+ * stickiness window, so it sees its own writes despite replication lag. A thread pinned with
+ * {@link #pinToPrimary()} reads from the primary regardless, so a read-then-write flow never
+ * merges a stale replica row. A replica that fails to hand out a connection is skipped until the
+ * next health check finds it valid again.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final String REPLICATION_LAG_QUERY =
+            "select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)";
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    Logger logger = LogManager.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Supplier<String> requester;
+    private final Cache<String, Boolean> recentWriters;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryRoutes;
+    private final Counter stickyRoutes;
+    private final Counter pinnedRoutes;
+    private final Counter replicaRoutes;
+    private final Counter failovers;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Supplier<String> requester,
+                                    Duration stickiness, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.requester = requester;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(stickiness)
+                .build();
+        this.maxLag = maxLag;
+        this.primaryRoutes = meterRegistry.counter("ead.course.datasource.routes", "target", "primary");
+        this.stickyRoutes = meterRegistry.counter("ead.course.datasource.routes", "target", "sticky");
+        this.pinnedRoutes = meterRegistry.counter("ead.course.datasource.routes", "target", "pinned");
+        this.replicaRoutes = meterRegistry.counter("ead.course.datasource.routes", "target", "replica");
+        this.failovers = meterRegistry.counter("ead.course.datasource.failovers");
+        meterRegistry.gauge("ead.course.datasource.replicas.healthy", this.replicas,
+                all -> all.stream().filter(replica -> replica.healthy).count());
+    }
+
+    /**
+     * Sends every connection the current thread opens to the primary until {@link #unpin()}.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica.dataSource);
+            if (healthy != replica.healthy) {
+                logger.info("Read replica {} is now {}", replicas.indexOf(replica), healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection route(ConnectionSource connectionSource) throws SQLException {
+        String currentRequester = requester.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (currentRequester != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.put(currentRequester, Boolean.TRUE);
+            }
+            primaryRoutes.increment();
+            return connectionSource.get(primary);
+        }
+        if (PINNED_TO_PRIMARY.get() != null) {
+            pinnedRoutes.increment();
+            return connectionSource.get(primary);
+        }
+        if (currentRequester != null && recentWriters.getIfPresent(currentRequester) != null) {
+            stickyRoutes.increment();
+            return connectionSource.get(primary);
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica != null) {
+            try {
+                Connection connection = connectionSource.get(replica.dataSource);
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                logger.warn("Read replica {} failed, reading from the primary: {}",
+                        replicas.indexOf(replica), e.getMessage());
+            }
+        }
+        failovers.increment();
+        return connectionSource.get(primary);
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean isHealthy(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return false;
+            }
+            if (maxLag == null) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+                return rs.next() && rs.getDouble(1) * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -6,36 +6,35 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Optional;
 
 public class AuthenticationJwtFilter extends OncePerRequestFilter {
 
     Logger logger = LogManager.getLogger(AuthenticationJwtFilter.class);
 
     final JwtProvider jwtProvider;
+    final AuthorityRegistry authorityRegistry;
 
-    public AuthenticationJwtFilter(JwtProvider jwtProvider) {
+    public AuthenticationJwtFilter(JwtProvider jwtProvider, AuthorityRegistry authorityRegistry) {
         this.jwtProvider = jwtProvider;
+        this.authorityRegistry = authorityRegistry;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwtStr = getTokenHeader(request);
-            if (jwtStr != null && jwtProvider.validateJwt(jwtStr)) {
-                String userId = jwtProvider.getSubjectJwt(jwtStr);
-                String rolesStr = jwtProvider.getClaimNameJwt(jwtStr, "roles");
-                UserDetails userDetails = UserDetailsImpl.build(UUID.fromString(userId), rolesStr);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+            Optional<VerifiedJwt> verifiedJwt = jwtStr != null ? jwtProvider.getVerifiedJwt(jwtStr) : Optional.empty();
+            if (verifiedJwt.isPresent()) {
+                UserDetailsImpl userDetails = UserDetailsImpl.build(
+                        verifiedJwt.get().userId(), verifiedJwt.get().roles(), authorityRegistry);
+                ReachableAuthenticationToken authentication = new ReachableAuthenticationToken(userDetails);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
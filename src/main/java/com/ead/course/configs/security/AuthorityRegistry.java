@@ -0,0 +1,88 @@
+package com.ead.course.configs.security;
+
+import com.ead.course.enums.UserType;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class AuthorityRegistry implements RoleHierarchy {
+
+    public static final GrantedAuthority ROLE_ADMIN = new SimpleGrantedAuthority("ROLE_" + UserType.ADMIN);
+
+    private static final int MAX_INTERNED_ROLES = 256;
+
+    private final RoleHierarchy roleHierarchy;
+    private final Map<String, Set<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
+    public AuthorityRegistry(RoleHierarchy roleHierarchy) {
+        this.roleHierarchy = roleHierarchy;
+        for (UserType userType : UserType.values()) {
+            getReachableAuthorities("ROLE_" + userType);
+        }
+    }
+
+    public Set<GrantedAuthority> getReachableAuthorities(String rolesStr) {
+        String key = rolesStr != null ? rolesStr : "";
+        Set<GrantedAuthority> authorities = authoritiesByRoles.get(key);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = resolve(key);
+        if (authoritiesByRoles.size() >= MAX_INTERNED_ROLES) {
+            return authorities;
+        }
+        Set<GrantedAuthority> interned = authoritiesByRoles.putIfAbsent(key, authorities);
+        return interned != null ? interned : authorities;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getReachableGrantedAuthorities(
+            Collection<? extends GrantedAuthority> authorities) {
+        if (authorities instanceof ReachableAuthorities) {
+            return authorities;
+        }
+        return roleHierarchy.getReachableGrantedAuthorities(authorities);
+    }
+
+    private Set<GrantedAuthority> resolve(String rolesStr) {
+        Set<GrantedAuthority> granted = Arrays.stream(rolesStr.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(role -> ROLE_ADMIN.getAuthority().equals(role) ? ROLE_ADMIN : new SimpleGrantedAuthority(role))
+                .collect(Collectors.toSet());
+        return new ReachableAuthorities(Set.copyOf(roleHierarchy.getReachableGrantedAuthorities(granted)));
+    }
+
+    private static final class ReachableAuthorities extends AbstractSet<GrantedAuthority> {
+
+        private final Set<GrantedAuthority> authorities;
+
+        private ReachableAuthorities(Set<GrantedAuthority> authorities) {
+            this.authorities = authorities;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return authorities.contains(o);
+        }
+
+        @Override
+        public Iterator<GrantedAuthority> iterator() {
+            return authorities.iterator();
+        }
+
+        @Override
+        public int size() {
+            return authorities.size();
+        }
+    }
+}
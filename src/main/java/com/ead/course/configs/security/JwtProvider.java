@@ -1,10 +1,16 @@
 package com.ead.course.configs.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +18,16 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtProvider {
@@ -21,35 +37,71 @@ public class JwtProvider {
     @Value("${ead.auth.jwtSecret}")
     private String jwtSecret;
 
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @Value("${ead.auth.jwtCache.maximumSize:10000}")
+    private long jwtCacheMaximumSize;
+
+    private JwtParser jwtParser;
+
+    private Cache<String, VerifiedJwt> verifiedJwtCache;
+
+    private final Clock clock;
+
+    public JwtProvider() {
+        this(Clock.systemUTC());
     }
 
-    public String getSubjectJwt(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    JwtProvider(Clock clock) {
+        this.clock = clock;
     }
 
-    public String getClaimNameJwt(String token, String claimName) {
-        return Jwts.parser()
+    @PostConstruct
+    void init() {
+        jwtParser = Jwts.parser()
                 .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get(claimName).toString();
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        verifiedJwtCache = Caffeine.newBuilder()
+                .maximumSize(jwtCacheMaximumSize)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .expireAfter(new Expiry<String, VerifiedJwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedJwt value, long currentTime) {
+                        return Math.max(0, Duration.between(clock.instant(), value.expiration()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public boolean validateJwt(String authToken) {
+    private SecretKey getSecretKey() {
+        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Optional<VerifiedJwt> getVerifiedJwt(String token) {
+        String key = digest(token);
+        VerifiedJwt cached = verifiedJwtCache.getIfPresent(key);
+        if (cached != null && cached.expiration().isAfter(clock.instant())) {
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(getSecretKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            var verifiedJwt = new VerifiedJwt(
+                    UUID.fromString(claims.getSubject()),
+                    claims.get("roles", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            if (verifiedJwt.expiration() != null) {
+                verifiedJwtCache.put(key, verifiedJwt);
+            }
+            return Optional.of(verifiedJwt);
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -61,7 +113,21 @@ public class JwtProvider {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public boolean validateJwt(String authToken) {
+        return getVerifiedJwt(authToken).isPresent();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
@@ -0,0 +1,29 @@
+package com.ead.course.configs.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Hands out the registry's precomputed authority set itself. The base token copies authorities
+ * into a new list, which would hide the set from {@link AuthorityRegistry} and force a hierarchy
+ * walk on every authorization check.
+ */
+public class ReachableAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Collection<? extends GrantedAuthority> reachableAuthorities;
+
+    public ReachableAuthenticationToken(UserDetailsImpl userDetails) {
+        super(userDetails, null, userDetails.getAuthorities());
+        this.reachableAuthorities = userDetails.getAuthorities();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return (Collection<GrantedAuthority>) reachableAuthorities;
+    }
+}
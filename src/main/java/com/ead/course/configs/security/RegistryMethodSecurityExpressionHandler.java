@@ -0,0 +1,16 @@
+package com.ead.course.configs.security;
+
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+
+/**
+ * Method security expression handler whose role checks resolve through {@link AuthorityRegistry}.
+ * The stock expression root asks its role hierarchy for the reachable authorities once per
+ * evaluation; the registry answers that from the set precomputed at login instead of walking the
+ * hierarchy again, while everything else, {@code hasPermission} included, stays Spring's.
+ */
+public class RegistryMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    public RegistryMethodSecurityExpressionHandler(AuthorityRegistry authorityRegistry) {
+        setRoleHierarchy(authorityRegistry);
+    }
+}
@@ -1,14 +1,10 @@
 package com.ead.course.configs.security;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class UserDetailsImpl implements UserDetails {
 
@@ -20,13 +16,10 @@ public class UserDetailsImpl implements UserDetails {
         this.authorities = authorities;
     }
 
-    public static UserDetailsImpl build(UUID userId, String rolesStr) {
-        List<GrantedAuthority> authorities = Arrays.stream(rolesStr.split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+    public static UserDetailsImpl build(UUID userId, String rolesStr, AuthorityRegistry authorityRegistry) {
         return new UserDetailsImpl(
                 userId,
-                authorities);
+                authorityRegistry.getReachableAuthorities(rolesStr));
     }
 
     @Override
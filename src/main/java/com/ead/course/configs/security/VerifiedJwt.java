@@ -0,0 +1,9 @@
+package com.ead.course.configs.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VerifiedJwt(UUID userId,
+                          String roles,
+                          Instant expiration) {
+}
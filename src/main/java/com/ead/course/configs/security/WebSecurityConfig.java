@@ -3,8 +3,6 @@ package com.ead.course.configs.security;
 import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
@@ -36,20 +34,18 @@ public class WebSecurityConfig {
 
     @Bean
     public AuthenticationJwtFilter authenticationJwtFilter() {
-        return new AuthenticationJwtFilter(jwtProvider);
+        return new AuthenticationJwtFilter(jwtProvider, roleHierarchy());
     }
 
     @Bean
-    public RoleHierarchy roleHierarchy() {
+    public AuthorityRegistry roleHierarchy() {
         String hierarchy = "ROLE_ADMIN > ROLE_INSTRUCTOR \n ROLE_INSTRUCTOR > ROLE_STUDENT \n ROLE_STUDENT > ROLE_USER";
-        return RoleHierarchyImpl.fromHierarchy(hierarchy);
+        return new AuthorityRegistry(RoleHierarchyImpl.fromHierarchy(hierarchy));
     }
 
     @Bean
-    public DefaultMethodSecurityExpressionHandler expressionHandler() {
-        var expressionHandler = new DefaultMethodSecurityExpressionHandler();
-        expressionHandler.setRoleHierarchy(roleHierarchy());
-        return expressionHandler;
+    public RegistryMethodSecurityExpressionHandler expressionHandler() {
+        return new RegistryMethodSecurityExpressionHandler(roleHierarchy());
     }
 
     @Bean
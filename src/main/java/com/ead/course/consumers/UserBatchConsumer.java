@@ -0,0 +1,125 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.publishers.UserEventDeadLetterPublisher;
+import com.ead.course.services.UserEventDeduplicationService;
+import com.ead.course.services.UserService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batch mode of the user event consumer: every event in a delivered batch carries the full user,
+ * so only the last event per user is applied, all of them in one transaction.
+ * <p>
+ * If that transaction fails, the events are applied one by one and only the ones that still fail
+ * are dead-lettered, so a single poison event never holds back the rest of its batch. Messages
+ * that cannot be read are dead-lettered as they are. When the dead-letter queue cannot take a
+ * copy, the whole batch is requeued; events already applied are skipped on redelivery.
+ */
+@Component
+@ConditionalOnProperty(name = "ead.broker.queue.userEventQueue.mode", havingValue = "batch")
+public class UserBatchConsumer {
+
+    private static final ParameterizedTypeReference<UserEventRecordDto> USER_EVENT =
+            new ParameterizedTypeReference<>() {
+            };
+
+    Logger logger = LogManager.getLogger(UserBatchConsumer.class);
+
+    final UserService userService;
+    final UserEventDeduplicationService userEventDeduplicationService;
+    final UserEventDeadLetterPublisher userEventDeadLetterPublisher;
+    final Jackson2JsonMessageConverter messageConverter;
+
+    public UserBatchConsumer(UserService userService, UserEventDeduplicationService userEventDeduplicationService,
+                             UserEventDeadLetterPublisher userEventDeadLetterPublisher,
+                             Jackson2JsonMessageConverter messageConverter) {
+        this.userService = userService;
+        this.userEventDeduplicationService = userEventDeduplicationService;
+        this.userEventDeadLetterPublisher = userEventDeadLetterPublisher;
+        this.messageConverter = messageConverter;
+    }
+
+    @RabbitListener(containerFactory = "userEventBatchContainerFactory", bindings = @QueueBinding(
+        value = @Queue(value = "${ead.broker.queue.userEventQueue.name}", durable = "true"),
+        exchange = @Exchange(value="${ead.broker.exchange.userEventExchange}",
+                type = ExchangeTypes.FANOUT, ignoreDeclarationExceptions = "true")
+        )
+    )
+    public void listenUserEvents(List<Message> messages) {
+        List<UserEvent> userEvents = coalesce(read(messages)).stream()
+                .filter(userEvent -> !userEventDeduplicationService.isDuplicate(userEvent.dto()))
+                .toList();
+        if (userEvents.isEmpty()) {
+            return;
+        }
+        try {
+            apply(userEvents);
+        } catch (RuntimeException e) {
+            logger.warn("Error applying {} user events as one batch, applying them one by one: {}",
+                    userEvents.size(), e.getMessage());
+            for (UserEvent userEvent : userEvents) {
+                try {
+                    apply(List.of(userEvent));
+                } catch (RuntimeException failure) {
+                    logger.error("Error applying user event for user {}, dead-lettering: {}",
+                            userEvent.dto().userId(), failure.getMessage());
+                    deadLetter(userEvent.message(), failure, 2);
+                }
+            }
+        }
+    }
+
+    private List<UserEvent> read(List<Message> messages) {
+        List<UserEvent> userEvents = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                userEvents.add(new UserEvent((UserEventRecordDto) messageConverter.fromMessage(message, USER_EVENT), message));
+            } catch (MessageConversionException e) {
+                logger.error("Unreadable user event, dead-lettering: {}", e.getMessage());
+                deadLetter(message, e, 1);
+            }
+        }
+        return userEvents;
+    }
+
+    private void apply(List<UserEvent> userEvents) {
+        List<UserEventRecordDto> dtos = userEvents.stream().map(UserEvent::dto).toList();
+        userService.applyEvents(dtos);
+        userEventDeduplicationService.markApplied(dtos);
+    }
+
+    private void deadLetter(Message message, RuntimeException cause, int attempts) {
+        if (!userEventDeadLetterPublisher.deadLetter(message, cause, attempts)) {
+            throw new ImmediateRequeueAmqpException("User event could not be dead-lettered, requeueing the batch", cause);
+        }
+    }
+
+    static Collection<UserEvent> coalesce(List<UserEvent> userEvents) {
+        Map<UUID, UserEvent> lastByUser = new LinkedHashMap<>();
+        userEvents.forEach(userEvent -> lastByUser.put(userEvent.dto().userId(), userEvent));
+        return lastByUser.values();
+    }
+
+    record UserEvent(UserEventRecordDto dto, Message message) {
+    }
+}
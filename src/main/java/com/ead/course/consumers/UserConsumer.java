@@ -2,6 +2,7 @@ package com.ead.course.consumers;
 
 import com.ead.course.dtos.UserEventRecordDto;
 import com.ead.course.enums.ActionType;
+import com.ead.course.services.UserEventDeduplicationService;
 import com.ead.course.services.UserService;
 import com.netflix.appinfo.InstanceInfo;
 import org.springframework.amqp.core.ExchangeTypes;
@@ -9,16 +10,22 @@ import org.springframework.amqp.rabbit.annotation.Exchange;
 import org.springframework.amqp.rabbit.annotation.Queue;
 import org.springframework.amqp.rabbit.annotation.QueueBinding;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
+@ConditionalOnProperty(name = "ead.broker.queue.userEventQueue.mode", havingValue = "single", matchIfMissing = true)
 public class UserConsumer {
 
     final UserService userService;
+    final UserEventDeduplicationService userEventDeduplicationService;
 
-    public UserConsumer(UserService userService) {
+    public UserConsumer(UserService userService, UserEventDeduplicationService userEventDeduplicationService) {
         this.userService = userService;
+        this.userEventDeduplicationService = userEventDeduplicationService;
     }
 
     @RabbitListener(bindings = @QueueBinding(
@@ -28,11 +35,13 @@ public class UserConsumer {
         )
     )
     public void listenUserEvent(@Payload UserEventRecordDto userEventRecordDto) {
-        var userModel = userEventRecordDto.toUserModel();
-
+        if (userEventDeduplicationService.isDuplicate(userEventRecordDto)) {
+            return;
+        }
         switch (ActionType.valueOf(userEventRecordDto.actionType())){
-            case CREATE, UPDATE -> userService.save(userModel);
+            case CREATE, UPDATE -> userService.replicate(userEventRecordDto);
             case DELETE -> userService.delete(userEventRecordDto.userId());
         }
+        userEventDeduplicationService.markApplied(List.of(userEventRecordDto));
     }
 }
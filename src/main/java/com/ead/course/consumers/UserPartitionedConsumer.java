@@ -0,0 +1,207 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.publishers.UserEventDeadLetterPublisher;
+import com.ead.course.services.UserEventDeduplicationService;
+import com.ead.course.services.UserService;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Partitioned mode of the user event consumer: deliveries are hashed by {@code userId} onto a
+ * fixed set of single-threaded lanes, so events of one user are applied in order while different
+ * users proceed in parallel. The container's prefetch bounds how much work can be queued in the
+ * lanes.
+ * <p>
+ * Deliveries are acked by a single settler thread, so lanes never use the container's channel
+ * concurrently. An event that still fails after {@code maxAttempts} is republished to the
+ * dead-letter queue and acked only once the broker confirms the copy. Nothing is ever requeued,
+ * since a requeued event would be applied after later events of the same user: a lane that
+ * cannot dead-letter holds until it can, and a delivery left unacked by shutdown is redelivered
+ * when the channel closes.
+ */
+@Component
+@ConditionalOnProperty(name = "ead.broker.queue.userEventQueue.mode", havingValue = "partitioned")
+public class UserPartitionedConsumer {
+
+    private static final int MAX_BACKOFF_STEPS = 50;
+
+    Logger logger = LogManager.getLogger(UserPartitionedConsumer.class);
+
+    final UserService userService;
+    final UserEventDeduplicationService userEventDeduplicationService;
+    final int maxAttempts;
+    final Duration retryBackoff;
+    final UserEventDeadLetterPublisher userEventDeadLetterPublisher;
+
+    private final List<ThreadPoolExecutor> lanes;
+    private final List<Timer> latencies;
+    private final ExecutorService settler;
+
+    public UserPartitionedConsumer(UserService userService, UserEventDeduplicationService userEventDeduplicationService,
+                                   UserEventDeadLetterPublisher userEventDeadLetterPublisher, MeterRegistry meterRegistry,
+                                   @Value("${ead.broker.queue.userEventQueue.lanes:4}") int laneCount,
+                                   @Value("${ead.broker.queue.userEventQueue.maxAttempts:3}") int maxAttempts,
+                                   @Value("${ead.broker.queue.userEventQueue.retryBackoff:PT0.2S}") Duration retryBackoff) {
+        this.userService = userService;
+        this.userEventDeduplicationService = userEventDeduplicationService;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.userEventDeadLetterPublisher = userEventDeadLetterPublisher;
+        this.settler = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("user-events-settler").factory());
+        this.lanes = IntStream.range(0, laneCount)
+                .mapToObj(lane -> new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        Thread.ofPlatform().name("user-events-lane-" + lane).factory()))
+                .toList();
+        this.latencies = IntStream.range(0, laneCount)
+                .mapToObj(lane -> Timer.builder("ead.course.user.events.lane.latency")
+                        .tag("lane", String.valueOf(lane))
+                        .register(meterRegistry))
+                .toList();
+        for (int lane = 0; lane < laneCount; lane++) {
+            Gauge.builder("ead.course.user.events.lane.depth", lanes.get(lane), executor -> executor.getQueue().size())
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+        }
+    }
+
+    @RabbitListener(containerFactory = "userEventPartitionedContainerFactory", bindings = @QueueBinding(
+        value = @Queue(value = "${ead.broker.queue.userEventQueue.name}", durable = "true"),
+        exchange = @Exchange(value="${ead.broker.exchange.userEventExchange}",
+                type = ExchangeTypes.FANOUT, ignoreDeclarationExceptions = "true")
+        )
+    )
+    public void listenUserEvent(@Payload UserEventRecordDto userEventRecordDto, Channel channel,
+                                @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
+        int lane = laneOf(userEventRecordDto.userId());
+        try {
+            lanes.get(lane).execute(() -> latencies.get(lane).record(() -> apply(userEventRecordDto, channel, deliveryTag)));
+        } catch (RejectedExecutionException e) {
+            logger.warn("User event lanes are shut down, {} is redelivered once the channel closes", deliveryTag);
+        }
+    }
+
+    int laneOf(UUID userId) {
+        return Math.floorMod(userId.hashCode(), lanes.size());
+    }
+
+    private void apply(UserEventRecordDto userEventRecordDto, Channel channel, long deliveryTag) {
+        if (process(userEventRecordDto)) {
+            settle(channel, deliveryTag);
+        } else {
+            logger.warn("User event lane interrupted, {} is redelivered once the channel closes", deliveryTag);
+        }
+    }
+
+    /**
+     * Returns whether the event was applied or dead-lettered; false only when the lane is
+     * interrupted, in which case the delivery is left unsettled.
+     */
+    private boolean process(UserEventRecordDto userEventRecordDto) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (!userEventDeduplicationService.isDuplicate(userEventRecordDto)) {
+                    userService.applyEvents(List.of(userEventRecordDto));
+                    userEventDeduplicationService.markApplied(List.of(userEventRecordDto));
+                }
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    logger.error("Error applying user event for user {}, dead-lettering: {}",
+                            userEventRecordDto.userId(), e.getMessage());
+                    return deadLetter(userEventRecordDto, e, attempt);
+                }
+                if (!backOff(attempt)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the lane, and with it every later event of the same users, waiting until the broker
+     * confirms the dead-lettered copy: requeueing the event instead would let those later events
+     * overtake it.
+     */
+    private boolean deadLetter(UserEventRecordDto userEventRecordDto, RuntimeException cause, int attempts) {
+        for (int attempt = 1; ; attempt++) {
+            if (userEventDeadLetterPublisher.deadLetter(userEventRecordDto, cause, attempts)) {
+                return true;
+            }
+            logger.warn("User event for user {} could not be dead-lettered, holding its lane (attempt {})",
+                    userEventRecordDto.userId(), attempt);
+            if (!backOff(Math.min(attempt, MAX_BACKOFF_STEPS))) {
+                return false;
+            }
+        }
+    }
+
+    private boolean backOff(int step) {
+        try {
+            Thread.sleep(retryBackoff.multipliedBy(step).toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void settle(Channel channel, long deliveryTag) {
+        try {
+            settler.execute(() -> ack(channel, deliveryTag));
+        } catch (RejectedExecutionException e) {
+            logger.warn("User event settler is shut down, {} is redelivered once the channel closes", deliveryTag);
+        }
+    }
+
+    private void ack(Channel channel, long deliveryTag) {
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException | ShutdownSignalException e) {
+            logger.error("Error acking user event {}, it is redelivered once the channel closes: {}",
+                    deliveryTag, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        lanes.forEach(ExecutorService::shutdown);
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                lane.shutdownNow();
+                lane.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        }
+        settler.shutdown();
+        settler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
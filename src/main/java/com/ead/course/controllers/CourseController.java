@@ -1,16 +1,19 @@
 package com.ead.course.controllers;
 
 import com.ead.course.dtos.CourseRecordDTO;
+import com.ead.course.dtos.SliceRecordDto;
+import com.ead.course.enums.PageCountMode;
 import com.ead.course.models.CourseModel;
 import com.ead.course.services.CourseService;
 import com.ead.course.services.ModuleService;
 import com.ead.course.specifications.SpecificationTemplate;
 import com.ead.course.validations.CourseValidator;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -47,13 +50,35 @@ public class CourseController {
 
     @PreAuthorize("hasAnyRole('USER')")
     @GetMapping
-    public ResponseEntity<Page<CourseModel>> getAllCourses(
+    public ResponseEntity<Object> getAllCourses(
             SpecificationTemplate.CourseSpec spec, Pageable pageable,
-            @RequestParam(required = false) UUID userId){
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "EXACT") PageCountMode count,
+            HttpServletRequest request){
+
+        Specification<CourseModel> courseSpec = userId != null
+                ? SpecificationTemplate.courseUserId(userId).and(spec) : spec;
+        if(after != null){
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(courseService.findAll(courseSpec, after, pageable));
+        }
+        return switch (count) {
+            case NONE -> ResponseEntity.status(HttpStatus.OK)
+                    .body(SliceRecordDto.from(courseService.findAllSlice(courseSpec, pageable)));
+            case ESTIMATED -> ResponseEntity.status(HttpStatus.OK)
+                    .body(courseService.findAllEstimated(courseSpec, pageable, SpecificationTemplate.specKey(request)));
+            case EXACT -> ResponseEntity.status(HttpStatus.OK)
+                    .body(courseService.findAll(courseSpec, pageable));
+        };
+    }
 
-        Page<CourseModel> courseModelPage =  courseService.findAll(spec, pageable);
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(courseService.findAll(spec, pageable));
+    @PreAuthorize("hasAnyRole('USER')")
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchCourses(
+            @RequestParam(value = "q") String query, Pageable pageable){
+        logger.debug("GET searchCourses received query: {}", query);
+        return ResponseEntity.status(HttpStatus.OK).body(courseService.search(query, pageable));
     }
 
     @PreAuthorize("hasAnyRole('USER')")
@@ -61,13 +86,27 @@ public class CourseController {
     public ResponseEntity<Object> getOneCourse(
             @PathVariable(value = "courseId")UUID courseId){
         logger.debug("GET getOneCourse received courseId: {}", courseId);
-        return ResponseEntity.status(HttpStatus.OK).body(courseService.findById(courseId).get());
+        return ResponseEntity.status(HttpStatus.OK).body(courseService.findResponseById(courseId).get());
+    }
+
+    @PreAuthorize("hasAnyRole('USER')")
+    @GetMapping("/{courseId}/tree")
+    public ResponseEntity<Object> getCourseTree(
+            @PathVariable(value = "courseId")UUID courseId){
+        logger.debug("GET getCourseTree received courseId: {}", courseId);
+        return ResponseEntity.status(HttpStatus.OK).body(courseService.findTreeById(courseId));
     }
 
     @PreAuthorize("hasAnyRole('INSTRUCTOR')")
     @DeleteMapping("/{courseId}")
-    public ResponseEntity<Object> deleteCourse(@PathVariable(value = "courseId") UUID courseId){
+    public ResponseEntity<Object> deleteCourse(@PathVariable(value = "courseId") UUID courseId,
+                                               @RequestParam(defaultValue = "false") boolean async){
 
+        if(async){
+            courseService.softDelete(courseService.findById(courseId).get());
+            logger.debug("DELETE deleteCourse scheduled purge for courseId: {}", courseId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Course deletion scheduled");
+        }
         courseService.delete(courseService.findById(courseId).get());
         logger.debug("DELETE deleteCourse received courseId: {}", courseId);
         return ResponseEntity.status(HttpStatus.OK).body("Course successfully deleted");
@@ -78,8 +117,7 @@ public class CourseController {
     public ResponseEntity<Object> updateCourse(
             @PathVariable(value = "courseId") UUID courseId, @RequestBody @Valid CourseRecordDTO courseRecordDTO){
         return ResponseEntity.status(HttpStatus.OK)
-                .body(courseService.update(
-                        courseRecordDTO, courseService.findById(courseId).get()));
+                .body(courseService.update(courseId, courseRecordDTO));
     }
 
     @RestController
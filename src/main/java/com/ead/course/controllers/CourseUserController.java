@@ -1,21 +1,32 @@
 package com.ead.course.controllers;
 
+import com.ead.course.dtos.BulkSubscriptionRecordDto;
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.dtos.SliceRecordDto;
 import com.ead.course.dtos.SubscriptionRecordDto;
+import com.ead.course.enums.ExportFormat;
+import com.ead.course.enums.PageCountMode;
 import com.ead.course.enums.UserStatus;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.UserModel;
 import com.ead.course.services.CourseService;
+import com.ead.course.services.RosterExportService;
 import com.ead.course.services.UserService;
 import com.ead.course.specifications.SpecificationTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,21 +35,55 @@ public class CourseUserController {
 
     final CourseService courseService;
     final UserService userService;
+    final RosterExportService rosterExportService;
+    final Duration exportTimeout;
 
     public CourseUserController(
-            CourseService courseService, UserService userService) {
+            CourseService courseService, UserService userService, RosterExportService rosterExportService,
+            @Value("${ead.roster.export.timeout:PT30M}") Duration exportTimeout) {
         this.courseService = courseService;
         this.userService = userService;
+        this.rosterExportService = rosterExportService;
+        this.exportTimeout = exportTimeout;
     }
 
-    @GetMapping("/courses/{courseId}/{users}")
-    public ResponseEntity<Object> getAllUsersByCourse(SpecificationTemplate.UserSpec spec,
-                                                       @PageableDefault(sort = "userId",
-    direction = Sort.Direction.ASC) Pageable pageable, @PathVariable(value = "courseId") UUID courseId){
+    @GetMapping("/courses/{courseId}/users")
+    public ResponseEntity<Object> getAllUsersByCourse(RosterFilterRecordDto filter,
+                                                       Pageable pageable, @PathVariable(value = "courseId") UUID courseId,
+                                                       @RequestParam(required = false) String after,
+                                                       @RequestParam(defaultValue = "EXACT") PageCountMode count,
+                                                       HttpServletRequest request){
 
-        courseService.findById(courseId);
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(userService.findAll(SpecificationTemplate.userCourseId(courseId).and(spec), pageable));
+        courseService.findResponseById(courseId);
+        if(after != null){
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(userService.findRoster(courseId, filter, after, pageable));
+        }
+        return switch (count) {
+            case NONE -> ResponseEntity.status(HttpStatus.OK)
+                    .body(SliceRecordDto.from(userService.findRosterSlice(courseId, filter, pageable)));
+            case ESTIMATED -> ResponseEntity.status(HttpStatus.OK)
+                    .body(userService.findRosterEstimated(courseId, filter, pageable, SpecificationTemplate.specKey(request)));
+            case EXACT -> ResponseEntity.status(HttpStatus.OK)
+                    .body(userService.findRoster(courseId, filter, pageable));
+        };
+    }
+
+    @PreAuthorize("hasAnyRole('INSTRUCTOR')")
+    @GetMapping("/courses/{courseId}/users/export")
+    public WebAsyncTask<Void> exportUsersByCourse(RosterFilterRecordDto filter,
+                                                  @PathVariable(value = "courseId") UUID courseId,
+                                                  @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                  HttpServletResponse response){
+
+        courseService.findResponseById(courseId);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + courseId + "-users."
+                + format.toString().toLowerCase() + "\"");
+        response.setContentType(format == ExportFormat.CSV ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            rosterExportService.exportRoster(courseId, filter, format, response.getOutputStream());
+            return null;
+        });
     }
 
     @PreAuthorize("hasAnyRole('USER')")
@@ -50,13 +95,22 @@ public class CourseUserController {
         Optional<UserModel> optionalUserModel = userService.findById(
                 subscriptionRecordDto.userId());
 
-        if(courseService.existsByCourseAndUser(courseId, subscriptionRecordDto.userId())){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: subscription already exists");
-        }
         if(optionalUserModel.get().getUserStatus().equals(UserStatus.BLOCKED.toString())){
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: User is blocked");
         }
-        courseService.saveSubscriptionInCourse(courseModelOptional.get(), optionalUserModel.get());
+        if(!courseService.saveSubscriptionInCourse(courseModelOptional.get(), optionalUserModel.get())){
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: subscription already exists");
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body("");
     }
+
+    @PreAuthorize("hasAnyRole('INSTRUCTOR')")
+    @PostMapping("/courses/{courseId}/users/subscriptions")
+    public ResponseEntity<Object> saveSubscriptionsInCourse(@PathVariable(value="courseId") UUID courseId,
+                                                            @RequestBody @Valid BulkSubscriptionRecordDto bulkSubscriptionRecordDto){
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(courseService.saveSubscriptionsInCourse(
+                        courseService.findById(courseId).get(), bulkSubscriptionRecordDto.userIds()));
+    }
 }
@@ -1,15 +1,16 @@
 package com.ead.course.controllers;
 
 import com.ead.course.dtos.LessonRecordDTO;
-import com.ead.course.models.LessonModel;
+import com.ead.course.dtos.SliceRecordDto;
+import com.ead.course.enums.PageCountMode;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.services.LessonService;
 import com.ead.course.services.ModuleService;
 import com.ead.course.specifications.SpecificationTemplate;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,13 +45,27 @@ public class LessonController {
 
     @PreAuthorize("hasAnyRole('USER')")
     @GetMapping("/modules/{moduleId}/lessons")
-    public ResponseEntity<Page<LessonModel>> getAllLessons(
+    public ResponseEntity<Object> getAllLessons(
             @PathVariable(value = "moduleId") UUID moduleId,
             SpecificationTemplate.LessonSpec spec,
-            Pageable pageable){
-
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(lessonService.findAllLessonsIntoModule(SpecificationTemplate.lessonModuleId(moduleId).and(spec), pageable));
+            Pageable pageable,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "EXACT") PageCountMode count,
+            HttpServletRequest request){
+
+        var lessonSpec = SpecificationTemplate.lessonModuleId(moduleId).and(spec);
+        if(after != null){
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(lessonService.findAllLessonsIntoModule(lessonSpec, after, pageable));
+        }
+        return switch (count) {
+            case NONE -> ResponseEntity.status(HttpStatus.OK)
+                    .body(SliceRecordDto.from(lessonService.findAllLessonsIntoModuleSlice(lessonSpec, pageable)));
+            case ESTIMATED -> ResponseEntity.status(HttpStatus.OK)
+                    .body(lessonService.findAllLessonsIntoModuleEstimated(lessonSpec, pageable, SpecificationTemplate.specKey(request)));
+            case EXACT -> ResponseEntity.status(HttpStatus.OK)
+                    .body(lessonService.findAllLessonsIntoModule(lessonSpec, pageable));
+        };
     }
 
     @PreAuthorize("hasAnyRole('USER')")
@@ -60,7 +75,7 @@ public class LessonController {
             @PathVariable(value = "lessonId")UUID lessonId){
 
         return ResponseEntity.status(HttpStatus.OK)
-                .body(lessonService.findLessonIntoModule(moduleId, lessonId).get());
+                .body(lessonService.findResponseIntoModule(moduleId, lessonId).get());
     }
 
     @PreAuthorize("hasAnyRole('INSTRUCTOR')")
@@ -79,8 +94,7 @@ public class LessonController {
             @PathVariable(value = "lessonId")UUID lessonId,
             @RequestBody @Valid LessonRecordDTO lessonRecordDTO){
         return ResponseEntity.status(HttpStatus.OK)
-                .body(lessonService.update(
-                        lessonRecordDTO, lessonService.findLessonIntoModule(moduleId, lessonId).get()));
+                .body(lessonService.update(moduleId, lessonId, lessonRecordDTO));
     }
 
 }
@@ -1,14 +1,15 @@
 package com.ead.course.controllers;
 
 import com.ead.course.dtos.ModuleRecordDTO;
-import com.ead.course.models.ModuleModel;
+import com.ead.course.dtos.SliceRecordDto;
+import com.ead.course.enums.PageCountMode;
 import com.ead.course.services.CourseService;
 import com.ead.course.services.ModuleService;
 import com.ead.course.specifications.SpecificationTemplate;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -45,13 +46,27 @@ public class ModuleController {
 
     @PreAuthorize("hasAnyRole('USER')")
     @GetMapping("/courses/{courseId}/modules")
-    public ResponseEntity<Page<ModuleModel>> getAllModules(
+    public ResponseEntity<Object> getAllModules(
             @PathVariable(value = "courseId") UUID courseId,
             SpecificationTemplate.ModuleSpec spec,
-            Pageable pageable){
-
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(moduleService.findAllModulesIntoCourse(SpecificationTemplate.moduleCourseId(courseId).and(spec), pageable));
+            Pageable pageable,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "EXACT") PageCountMode count,
+            HttpServletRequest request){
+
+        var moduleSpec = SpecificationTemplate.moduleCourseId(courseId).and(spec);
+        if(after != null){
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(moduleService.findAllModulesIntoCourse(moduleSpec, after, pageable));
+        }
+        return switch (count) {
+            case NONE -> ResponseEntity.status(HttpStatus.OK)
+                    .body(SliceRecordDto.from(moduleService.findAllModulesIntoCourseSlice(moduleSpec, pageable)));
+            case ESTIMATED -> ResponseEntity.status(HttpStatus.OK)
+                    .body(moduleService.findAllModulesIntoCourseEstimated(moduleSpec, pageable, SpecificationTemplate.specKey(request)));
+            case EXACT -> ResponseEntity.status(HttpStatus.OK)
+                    .body(moduleService.findAllModulesIntoCourse(moduleSpec, pageable));
+        };
     }
 
     @PreAuthorize("hasAnyRole('USER')")
@@ -61,7 +76,7 @@ public class ModuleController {
             @PathVariable(value = "moduleId")UUID moduleId){
 
         return ResponseEntity.status(HttpStatus.OK)
-                .body(moduleService.findModuleIntoCourse(courseId, moduleId));
+                .body(moduleService.findResponseIntoCourse(courseId, moduleId).get());
     }
 
     @PreAuthorize("hasAnyRole('INSTRUCTOR')")
@@ -80,8 +95,7 @@ public class ModuleController {
             @PathVariable(value = "moduleId")UUID moduleId,
             @RequestBody @Valid ModuleRecordDTO moduleRecordDTO){
         return ResponseEntity.status(HttpStatus.OK)
-                .body(moduleService.update(
-                        moduleRecordDTO, moduleService.findModuleIntoCourse(courseId, moduleId).get()));
+                .body(moduleService.update(courseId, moduleId, moduleRecordDTO));
     }
 }
 
@@ -0,0 +1,13 @@
+package com.ead.course.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkSubscriptionRecordDto(@NotEmpty(message = "UserIds are required")
+                                        @Size(max = 10000, message = "At most 10000 userIds per request")
+                                        List<@NotNull UUID> userIds) {
+}
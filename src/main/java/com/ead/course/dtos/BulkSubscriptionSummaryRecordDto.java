@@ -0,0 +1,12 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.SubscriptionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public record BulkSubscriptionSummaryRecordDto(int requested,
+                                               int duplicates,
+                                               Map<SubscriptionStatus, Long> totals,
+                                               List<SubscriptionResultRecordDto> results) {
+}
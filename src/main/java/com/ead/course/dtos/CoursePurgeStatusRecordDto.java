@@ -0,0 +1,13 @@
+package com.ead.course.dtos;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+public record CoursePurgeStatusRecordDto(long backlog,
+                                         Set<UUID> inProgress,
+                                         long purgedCourses,
+                                         long purgedRows,
+                                         long failures,
+                                         Instant lastRunAt) {
+}
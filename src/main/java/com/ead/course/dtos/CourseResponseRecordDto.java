@@ -0,0 +1,20 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CourseResponseRecordDto(UUID courseId,
+                                      String name,
+                                      String description,
+                                      LocalDateTime creationDate,
+                                      LocalDateTime lastUpdateDate,
+                                      CourseStatus courseStatus,
+                                      CourseLevel courseLevel,
+                                      UUID userInstructor,
+                                      String imageUrl) {
+}
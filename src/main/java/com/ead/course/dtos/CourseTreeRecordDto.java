@@ -0,0 +1,9 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+public record CourseTreeRecordDto(@JsonUnwrapped CourseResponseRecordDto course,
+                                  List<ModuleTreeRecordDto> modules) {
+}
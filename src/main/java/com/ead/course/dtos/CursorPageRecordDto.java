@@ -0,0 +1,8 @@
+package com.ead.course.dtos;
+
+import java.util.List;
+
+public record CursorPageRecordDto<T>(List<T> content,
+                                     int size,
+                                     String nextCursor) {
+}
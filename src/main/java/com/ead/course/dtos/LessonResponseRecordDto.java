@@ -0,0 +1,14 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LessonResponseRecordDto(UUID lessonId,
+                                      String title,
+                                      String description,
+                                      String videoUrl,
+                                      LocalDateTime creationDate) {
+}
@@ -0,0 +1,16 @@
+package com.ead.course.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ModuleLessonRecordDto(UUID moduleId,
+                                    UUID lessonId,
+                                    String title,
+                                    String description,
+                                    String videoUrl,
+                                    LocalDateTime creationDate) {
+
+    public LessonResponseRecordDto toResponse() {
+        return new LessonResponseRecordDto(lessonId, title, description, videoUrl, creationDate);
+    }
+}
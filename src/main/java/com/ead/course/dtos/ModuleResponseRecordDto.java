@@ -0,0 +1,13 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ModuleResponseRecordDto(UUID moduleId,
+                                      String title,
+                                      String description,
+                                      LocalDateTime creationDate) {
+}
@@ -0,0 +1,9 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+public record ModuleTreeRecordDto(@JsonUnwrapped ModuleResponseRecordDto module,
+                                  List<LessonResponseRecordDto> lessons) {
+}
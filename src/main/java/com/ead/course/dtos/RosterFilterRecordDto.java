@@ -0,0 +1,7 @@
+package com.ead.course.dtos;
+
+public record RosterFilterRecordDto(String email,
+                                    String fullName,
+                                    String userStatus,
+                                    String userType) {
+}
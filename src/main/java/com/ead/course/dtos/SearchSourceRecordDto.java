@@ -0,0 +1,13 @@
+package com.ead.course.dtos;
+
+import java.util.UUID;
+
+public record SearchSourceRecordDto(UUID courseId,
+                                    UUID moduleId,
+                                    UUID sourceId,
+                                    String text) {
+
+    public SearchSourceRecordDto(UUID courseId, String text) {
+        this(courseId, null, courseId, text);
+    }
+}
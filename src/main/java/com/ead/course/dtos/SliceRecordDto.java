@@ -0,0 +1,15 @@
+package com.ead.course.dtos;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record SliceRecordDto<T>(List<T> content,
+                                int number,
+                                int size,
+                                boolean hasNext) {
+
+    public static <T> SliceRecordDto<T> from(Slice<T> slice) {
+        return new SliceRecordDto<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
@@ -0,0 +1,9 @@
+package com.ead.course.dtos;
+
+import java.util.UUID;
+
+public record SubscriptionCandidateRecordDto(UUID userId,
+                                             String fullName,
+                                             String userStatus,
+                                             boolean subscribed) {
+}
@@ -0,0 +1,9 @@
+package com.ead.course.dtos;
+
+import com.ead.course.enums.SubscriptionStatus;
+
+import java.util.UUID;
+
+public record SubscriptionResultRecordDto(UUID userId,
+                                          SubscriptionStatus status) {
+}
@@ -1,7 +1,6 @@
 package com.ead.course.dtos;
 
 import com.ead.course.models.UserModel;
-import org.springframework.beans.BeanUtils;
 
 import java.util.UUID;
 
@@ -16,9 +15,11 @@ public record UserEventRecordDto(
         String imageUrl,
         String actionType) {
 
+    public UserRecordDto toUserRecord() {
+        return new UserRecordDto(userId, email, fullName, userStatus, userType, imageUrl);
+    }
+
     public UserModel toUserModel(){
-        var userModel = new UserModel();
-        BeanUtils.copyProperties(this, userModel);
-        return userModel;
+        return toUserRecord().toUserModel();
     }
 }
@@ -0,0 +1,24 @@
+package com.ead.course.dtos;
+
+import com.ead.course.models.UserModel;
+
+import java.util.UUID;
+
+public record UserRecordDto(UUID userId,
+                            String email,
+                            String fullName,
+                            String userStatus,
+                            String userType,
+                            String imageUrl) {
+
+    public UserModel toUserModel() {
+        var userModel = new UserModel();
+        userModel.setUserId(userId);
+        userModel.setEmail(email);
+        userModel.setFullName(fullName);
+        userModel.setUserStatus(userStatus);
+        userModel.setUserType(userType);
+        userModel.setImageUrl(imageUrl);
+        return userModel;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserResponseRecordDto(UUID userId,
+                                    String email,
+                                    String fullName,
+                                    String userStatus,
+                                    String userType,
+                                    String imageUrl) {
+}
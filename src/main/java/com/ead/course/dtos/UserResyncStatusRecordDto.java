@@ -0,0 +1,17 @@
+package com.ead.course.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserResyncStatusRecordDto(boolean running,
+                                        Integer nextPage,
+                                        Integer totalPages,
+                                        UUID lastUserId,
+                                        Long syncedUsers,
+                                        LocalDateTime startedDate,
+                                        LocalDateTime updatedDate,
+                                        LocalDateTime completedDate) {
+}
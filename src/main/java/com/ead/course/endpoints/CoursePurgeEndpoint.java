@@ -0,0 +1,23 @@
+package com.ead.course.endpoints;
+
+import com.ead.course.dtos.CoursePurgeStatusRecordDto;
+import com.ead.course.schedulers.CoursePurgeScheduler;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "coursepurge")
+public class CoursePurgeEndpoint {
+
+    final CoursePurgeScheduler coursePurgeScheduler;
+
+    public CoursePurgeEndpoint(CoursePurgeScheduler coursePurgeScheduler) {
+        this.coursePurgeScheduler = coursePurgeScheduler;
+    }
+
+    @ReadOperation
+    public CoursePurgeStatusRecordDto status() {
+        return coursePurgeScheduler.getStatus();
+    }
+}
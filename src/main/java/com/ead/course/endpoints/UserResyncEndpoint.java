@@ -0,0 +1,31 @@
+package com.ead.course.endpoints;
+
+import com.ead.course.dtos.UserResyncStatusRecordDto;
+import com.ead.course.services.UserResyncService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "userresync")
+public class UserResyncEndpoint {
+
+    final UserResyncService userResyncService;
+
+    public UserResyncEndpoint(UserResyncService userResyncService) {
+        this.userResyncService = userResyncService;
+    }
+
+    @ReadOperation
+    public UserResyncStatusRecordDto status() {
+        return userResyncService.getStatus();
+    }
+
+    @WriteOperation
+    public UserResyncStatusRecordDto start(@Nullable Boolean restart) {
+        userResyncService.start(Boolean.TRUE.equals(restart));
+        return userResyncService.getStatus();
+    }
+}
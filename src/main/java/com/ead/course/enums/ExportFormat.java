@@ -0,0 +1,6 @@
+package com.ead.course.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON;
+}
@@ -0,0 +1,7 @@
+package com.ead.course.enums;
+
+public enum PageCountMode {
+    EXACT,
+    NONE,
+    ESTIMATED;
+}
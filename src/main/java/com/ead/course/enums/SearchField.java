@@ -0,0 +1,18 @@
+package com.ead.course.enums;
+
+public enum SearchField {
+    COURSE_NAME(3.0),
+    COURSE_DESCRIPTION(1.0),
+    MODULE_TITLE(2.0),
+    LESSON_TITLE(1.5);
+
+    private final double weight;
+
+    SearchField(double weight) {
+        this.weight = weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ead.course.enums;
+
+public enum SubscriptionStatus {
+    SUBSCRIBED,
+    ALREADY_SUBSCRIBED,
+    USER_NOT_FOUND,
+    USER_BLOCKED;
+}
@@ -26,6 +26,13 @@ public class GlobalExceptionHandler {
         return  ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorRecordResponse> handleInvalidCursorException(InvalidCursorException e) {
+        ErrorRecordResponse errorResponse = new ErrorRecordResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage(), null);
+        logger.error("handleInvalidCursorException message: {}", e.getMessage());
+        return  ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorRecordResponse> handleMethodArgumentNotValidException(
@@ -3,6 +3,7 @@ package com.ead.course.models;
 import com.ead.course.enums.CourseLevel;
 import com.ead.course.enums.CourseStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
@@ -11,6 +12,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -20,13 +22,14 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
 @Table(name = "TB_COURSES")
+@SQLRestriction("deletion_date is null")
 
 public class CourseModel implements Serializable {
 
 private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID courseId;
 
     @Column(nullable = false, unique = true, length = 150)
@@ -57,6 +60,9 @@ private static final long serialVersionUID = 1L;
     @Column(length = 255)
     private String imageUrl;
 
+    @JsonIgnore
+    private LocalDateTime deletionDate;
+
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @OneToMany(mappedBy = "course",
             fetch = FetchType.LAZY,
@@ -70,7 +76,9 @@ private static final long serialVersionUID = 1L;
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name="TB_COURSES_USERS",
     joinColumns = @JoinColumn(name = "course_id"),
-    inverseJoinColumns = @JoinColumn(name = "user_id"))
+    inverseJoinColumns = @JoinColumn(name = "user_id"),
+    uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "user_id"}),
+    indexes = @Index(columnList = "user_id"))
     private Set<UserModel> users;
 
     public UUID getCourseId() {
@@ -145,6 +153,14 @@ private static final long serialVersionUID = 1L;
         this.imageUrl = imageUrl;
     }
 
+    public LocalDateTime getDeletionDate() {
+        return deletionDate;
+    }
+
+    public void setDeletionDate(LocalDateTime deletionDate) {
+        this.deletionDate = deletionDate;
+    }
+
     public Set<ModuleModel> getModules() {
         return modules;
     }
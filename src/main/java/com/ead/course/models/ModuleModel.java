@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -16,12 +17,13 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
 @Table(name = "TB_MODULES")
+@SQLRestriction("deletion_date is null")
 public class ModuleModel implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID moduleId;
 
     @Column(nullable = false, length = 150)
@@ -34,6 +36,9 @@ public class ModuleModel implements Serializable {
     @Column(nullable = false)
     private LocalDateTime creationDate;
 
+    @JsonIgnore
+    private LocalDateTime deletionDate;
+
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @ManyToOne(optional = false)
     private CourseModel course;
@@ -59,6 +64,14 @@ public class ModuleModel implements Serializable {
         this.course = course;
     }
 
+    public LocalDateTime getDeletionDate() {
+        return deletionDate;
+    }
+
+    public void setDeletionDate(LocalDateTime deletionDate) {
+        this.deletionDate = deletionDate;
+    }
+
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
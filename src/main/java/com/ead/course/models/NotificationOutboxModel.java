@@ -0,0 +1,40 @@
+package com.ead.course.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "TB_NOTIFICATION_OUTBOX", indexes = @Index(columnList = "nextAttemptDate"))
+@Getter
+@Setter
+public class NotificationOutboxModel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @UuidV7
+    private UUID outboxId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptDate;
+
+    @Column(nullable = false)
+    private int attempts;
+}
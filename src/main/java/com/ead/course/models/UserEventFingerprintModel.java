@@ -0,0 +1,27 @@
+package com.ead.course.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "TB_USER_EVENT_FINGERPRINTS", indexes = @Index(columnList = "processedDate"))
+@Getter
+@Setter
+public class UserEventFingerprintModel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private LocalDateTime processedDate;
+}
@@ -10,11 +10,11 @@ import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
-@Table(name = "TB_USERS")
+@Table(name = "TB_USERS", indexes = @Index(columnList = "fullName"))
 public class UserModel implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID userId;
 
     @Column(nullable = false, unique = true, length = 50)
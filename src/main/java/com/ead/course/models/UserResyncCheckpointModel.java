@@ -0,0 +1,43 @@
+package com.ead.course.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "TB_USER_RESYNC_CHECKPOINTS")
+@Getter
+@Setter
+public class UserResyncCheckpointModel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = 50)
+    private String resyncName;
+
+    @Column(nullable = false)
+    private int pageSize;
+
+    @Column(nullable = false)
+    private int nextPage;
+
+    private Integer totalPages;
+
+    private UUID lastUserId;
+
+    @Column(nullable = false)
+    private long syncedUsers;
+
+    @Column(nullable = false)
+    private LocalDateTime startedDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedDate;
+
+    private LocalDateTime completedDate;
+}
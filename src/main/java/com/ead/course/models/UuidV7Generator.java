@@ -0,0 +1,57 @@
+package com.ead.course.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 identifiers (RFC 9562): a 48-bit Unix millisecond timestamp followed by a
+ * 12-bit counter and 62 random bits. New keys land on the right-hand edge of primary key and
+ * foreign key indexes instead of on random pages. The timestamp and counter come from one
+ * shared sequence that only moves forward, so identifiers from this JVM are strictly increasing
+ * even within a millisecond or across a clock step back. When the counter runs out, the sequence
+ * borrows from the next millisecond.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final int COUNTER_BITS = 12;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST_SEQUENCE = new AtomicLong();
+
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long sequence = LAST_SEQUENCE.updateAndGet(last -> Math.max(now, last + 1));
+        long timestamp = sequence >>> COUNTER_BITS;
+        long counter = sequence & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = VARIANT | (RANDOM.nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        Object assigned = currentValue != null ? currentValue
+                : session.getEntityPersister(null, owner).getIdentifier(owner, session);
+        return assigned != null ? assigned : nextUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -1,18 +1,83 @@
 package com.ead.course.publishers;
 
 import com.ead.course.dtos.NotificationRecordCommandDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Notification commands are buffered in a bounded queue and sent by a single batcher thread in
+ * micro-batches closed by size or by time window, one channel per batch. Each message carries
+ * correlation data, so broker confirms complete the callers' futures asynchronously. A full
+ * buffer blocks callers for at most {@code offerTimeout}; consecutive unconfirmed publishes open a
+ * circuit breaker that rejects new commands until the broker has had time to recover.
+ */
 @Component
 public class NotificationCommandPublisher {
 
+    Logger logger = LogManager.getLogger(NotificationCommandPublisher.class);
+
     final RabbitTemplate rabbitTemplate;
+    final int batchSize;
+    final Duration batchWindow;
+    final Duration offerTimeout;
+    final Duration confirmTimeout;
 
+    private final BlockingQueue<PendingCommand> buffer;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter published;
+    private final Counter nacks;
+    private final Counter rejected;
+    private final Timer confirmLatency;
+    private volatile boolean running;
+    private Thread batcher;
 
-    public NotificationCommandPublisher(RabbitTemplate rabbitTemplate) {
+    public NotificationCommandPublisher(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                                        @Value("${ead.broker.publisher.batchSize:100}") int batchSize,
+                                        @Value("${ead.broker.publisher.batchWindow:PT0.02S}") Duration batchWindow,
+                                        @Value("${ead.broker.publisher.bufferCapacity:10000}") int bufferCapacity,
+                                        @Value("${ead.broker.publisher.offerTimeout:PT1S}") Duration offerTimeout,
+                                        @Value("${ead.broker.publisher.confirmTimeout:PT5S}") Duration confirmTimeout,
+                                        @Value("${ead.broker.publisher.circuit.failureThreshold:5}") int failureThreshold,
+                                        @Value("${ead.broker.publisher.circuit.openDuration:PT30S}") Duration openDuration) {
         this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+        this.offerTimeout = offerTimeout;
+        this.confirmTimeout = confirmTimeout;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.published = meterRegistry.counter("ead.course.publisher.published");
+        this.nacks = meterRegistry.counter("ead.course.publisher.nacks");
+        this.rejected = meterRegistry.counter("ead.course.publisher.rejected");
+        this.confirmLatency = Timer.builder("ead.course.publisher.confirm.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("ead.course.publisher.buffer.size", buffer, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("ead.course.publisher.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
     }
 
     @Value(value = "${ead.broker.exchange.notificationCommandExchange}")
@@ -21,9 +86,144 @@ public class NotificationCommandPublisher {
     @Value(value = "${ead.broker.key.notificationCommandKey}")
     private String notificationCommandKey;
 
-    public void publishNotificationCommand(NotificationRecordCommandDto notificationRecordCommandDto) {
-        rabbitTemplate.convertAndSend(notificationCommandExchange,notificationCommandKey,
-                notificationRecordCommandDto);
+    @PostConstruct
+    void start() {
+        running = true;
+        batcher = Thread.ofPlatform().name("notification-publisher").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        batcher.interrupt();
+        batcher.join(confirmTimeout.toMillis());
+        List<PendingCommand> unsent = new ArrayList<>();
+        buffer.drainTo(unsent);
+        unsent.forEach(pending -> pending.confirmed().completeExceptionally(
+                new AmqpException("Notification publisher stopped")));
+    }
+
+    /**
+     * True while recent publishes went unconfirmed and the breaker is still rejecting commands;
+     * callers holding resources for the publish can skip it instead of waiting to be rejected.
+     */
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    /**
+     * Blocks until the broker has confirmed every command. Nacks, confirm timeouts and a full
+     * buffer count as failures towards opening the circuit; while it is open this fails fast.
+     */
+    public void publishNotificationCommandsConfirmed(List<NotificationRecordCommandDto> notificationRecordCommandDtos,
+                                                     Duration confirmTimeout) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejected.increment(notificationRecordCommandDtos.size());
+            throw new AmqpException("Notification publisher circuit is open");
+        }
+        try {
+            publishAsync(notificationRecordCommandDtos).get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.recordSuccess();
+        } catch (ExecutionException e) {
+            circuitBreaker.recordFailure();
+            throw e.getCause() instanceof AmqpException amqpException ? amqpException : new AmqpException(e.getCause());
+        } catch (TimeoutException e) {
+            circuitBreaker.recordFailure();
+            throw new AmqpTimeoutException("Timed out waiting for publisher confirms", e);
+        } catch (InterruptedException e) {
+            circuitBreaker.recordFailure();
+            Thread.currentThread().interrupt();
+            throw new AmqpException(e);
+        }
     }
 
+    /**
+     * Completes once the broker has confirmed every command, exceptionally on the first nack,
+     * confirm timeout or full buffer.
+     */
+    private CompletableFuture<Void> publishAsync(List<NotificationRecordCommandDto> notificationRecordCommandDtos) {
+        List<CompletableFuture<Void>> confirmations = new ArrayList<>(notificationRecordCommandDtos.size());
+        try {
+            for (NotificationRecordCommandDto command : notificationRecordCommandDtos) {
+                var pending = new PendingCommand(command, new CompletableFuture<>());
+                if (!buffer.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    rejected.increment(notificationRecordCommandDtos.size() - confirmations.size());
+                    return CompletableFuture.failedFuture(new AmqpException("Notification publisher buffer is full"));
+                }
+                confirmations.add(pending.confirmed());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new AmqpException(e));
+        }
+        return CompletableFuture.allOf(confirmations.toArray(CompletableFuture[]::new));
+    }
+
+    private void drain() {
+        List<PendingCommand> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingCommand first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + batchWindow.toNanos();
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingCommand next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(List.copyOf(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                logger.error("Error in notification publisher batcher: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PendingCommand> batch) {
+        long start = System.nanoTime();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingCommand pending : batch) {
+                    var correlationData = new CorrelationData();
+                    operations.convertAndSend(notificationCommandExchange, notificationCommandKey,
+                            pending.command(), correlationData);
+                    correlationData.getFuture()
+                            .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                            .handle((confirm, e) -> {
+                                confirmLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                if (e == null && confirm.isAck()) {
+                                    published.increment();
+                                    pending.confirmed().complete(null);
+                                    return null;
+                                }
+                                nacks.increment();
+                                String reason = e != null ? "no confirm within " + confirmTimeout : confirm.getReason();
+                                pending.confirmed().completeExceptionally(
+                                        new AmqpException("Notification command not confirmed: " + reason));
+                                return null;
+                            });
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            batch.forEach(pending -> pending.confirmed().completeExceptionally(e));
+        }
+    }
+
+    private record PendingCommand(NotificationRecordCommandDto command, CompletableFuture<Void> confirmed) {
+    }
 }
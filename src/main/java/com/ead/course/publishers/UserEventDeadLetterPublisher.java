@@ -0,0 +1,73 @@
+package com.ead.course.publishers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Republishes user events the consumers give up on to the dead-letter queue through the default
+ * exchange, keeping the main queue's arguments unchanged. A copy only counts as dead-lettered once
+ * the broker has confirmed it, so the caller can settle the original delivery.
+ */
+@Component
+@ConditionalOnExpression("'${ead.broker.queue.userEventQueue.mode:single}' != 'single'")
+public class UserEventDeadLetterPublisher {
+
+    Logger logger = LogManager.getLogger(UserEventDeadLetterPublisher.class);
+
+    final RabbitTemplate rabbitTemplate;
+    final String deadLetterQueue;
+    final Duration confirmTimeout;
+
+    private final Counter deadLettered;
+
+    public UserEventDeadLetterPublisher(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                                        @Value("${ead.broker.queue.userEventQueue.name}.dlq") String deadLetterQueue,
+                                        @Value("${ead.broker.publisher.confirmTimeout:PT5S}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.deadLetterQueue = deadLetterQueue;
+        this.confirmTimeout = confirmTimeout;
+        this.deadLettered = meterRegistry.counter("ead.course.user.events.dead.lettered");
+    }
+
+    public boolean deadLetter(UserEventRecordDto userEventRecordDto, Throwable cause, int attempts) {
+        return deadLetter(rabbitTemplate.getMessageConverter().toMessage(userEventRecordDto, new MessageProperties()),
+                cause, attempts);
+    }
+
+    public boolean deadLetter(Message message, Throwable cause, int attempts) {
+        message.getMessageProperties().setHeader("x-exception-message", cause.getMessage());
+        message.getMessageProperties().setHeader("x-attempts", attempts);
+        var correlationData = new CorrelationData();
+        try {
+            rabbitTemplate.send("", deadLetterQueue, message, correlationData);
+            CorrelationData.Confirm confirm = correlationData.getFuture()
+                    .get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (confirm.isAck()) {
+                deadLettered.increment();
+                return true;
+            }
+            logger.error("Dead-lettered user event was not confirmed: {}", confirm.getReason());
+        } catch (AmqpException | ExecutionException | TimeoutException e) {
+            logger.error("Error dead-lettering user event: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ead.course.repositories;
 
+import com.ead.course.dtos.SearchSourceRecordDto;
 import com.ead.course.models.CourseModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -7,25 +8,66 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface CourseRepository extends JpaRepository<CourseModel, UUID>, JpaSpecificationExecutor<CourseModel> {
-    boolean existsByName(String name);
+public interface CourseRepository extends JpaRepository<CourseModel, UUID>, JpaSpecificationExecutor<CourseModel>,
+        CourseUserBatchRepository, CourseUserRosterRepository {
+    @Query(value = "select count(*) > 0 from tb_courses where name = :name", nativeQuery = true)
+    boolean existsByName(@Param("name") String name);
 
-    @Query(value="select case when count(tcu) > 0 THEN true ELSE false END FROM tb_courses_users tcu WHERE tcu.course_id = :courseId and tcu.userId = :userId", nativeQuery = true)
+    <T> Optional<T> findByCourseId(UUID courseId, Class<T> type);
+
+    <T> List<T> findByCourseIdIn(Collection<UUID> courseIds, Class<T> type);
+
+    @Query(value = "select cast(reltuples as bigint) from pg_class where oid = to_regclass('tb_courses')", nativeQuery = true)
+    Long estimateCourseCount();
+
+    @Query("select new com.ead.course.dtos.SearchSourceRecordDto(c.courseId, c.name) from CourseModel c")
+    List<SearchSourceRecordDto> findAllNameSearchSources();
+
+    @Query("select new com.ead.course.dtos.SearchSourceRecordDto(c.courseId, c.description) from CourseModel c")
+    List<SearchSourceRecordDto> findAllDescriptionSearchSources();
+
+    @Query(value="select case when count(*) > 0 THEN true ELSE false END FROM tb_courses_users tcu WHERE tcu.course_id = :courseId and tcu.user_id = :userId", nativeQuery = true)
     boolean existsByCourseAndUser(@Param("courseId")UUID courseId, @Param("userId") UUID userId);
 
     @Modifying
-    @Query(value="insert into tb_courses_users values(:courseId, :userId);", nativeQuery = true)
-    void saveCourseUser(@Param("courseId")UUID courseId, @Param("userId") UUID userId);
+    @Query(value="insert into tb_courses_users (course_id, user_id) values(:courseId, :userId) on conflict do nothing", nativeQuery = true)
+    int saveCourseUser(@Param("courseId")UUID courseId, @Param("userId") UUID userId);
 
     @Modifying
-    @Query(value = "delete from tb_courses_users where course_id = :course_id", nativeQuery = true)
+    @Query(value = "delete from tb_courses_users where course_id = :courseId", nativeQuery = true)
     void deleteCourseUserByCourse(@Param("courseId")UUID courseId);
 
     @Modifying
     @Query(value = "delete from tb_courses_users where user_id = :userId", nativeQuery = true)
     void deleteCourseUserByUser(@Param("userId")UUID userId);
 
+    @Modifying
+    @Query(value = "delete from tb_courses_users where user_id in :userIds", nativeQuery = true)
+    void deleteCourseUserByUsers(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query(value = "delete from tb_courses where course_id = :courseId", nativeQuery = true)
+    void deleteCourse(@Param("courseId")UUID courseId);
+
+    @Modifying
+    @Query(value = "update tb_courses set deletion_date = :deletionDate where course_id = :courseId and deletion_date is null", nativeQuery = true)
+    void softDeleteCourse(@Param("courseId")UUID courseId, @Param("deletionDate") LocalDateTime deletionDate);
+
+    @Query(value = "select cast(course_id as varchar) from tb_courses where deletion_date is not null order by deletion_date limit :limit", nativeQuery = true)
+    List<String> findCoursesPendingPurge(@Param("limit") int limit);
+
+    @Query(value = "select count(*) from tb_courses where deletion_date is not null", nativeQuery = true)
+    long countCoursesPendingPurge();
+
+    @Modifying
+    @Query(value = "delete from tb_courses_users where course_id = :courseId and user_id in (select user_id from tb_courses_users where course_id = :courseId limit :limit)", nativeQuery = true)
+    int purgeCourseUsers(@Param("courseId")UUID courseId, @Param("limit") int limit);
+
 
 }
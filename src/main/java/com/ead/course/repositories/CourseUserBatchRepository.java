@@ -0,0 +1,10 @@
+package com.ead.course.repositories;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+public interface CourseUserBatchRepository {
+
+    Set<UUID> saveCourseUsers(UUID courseId, Collection<UUID> userIds);
+}
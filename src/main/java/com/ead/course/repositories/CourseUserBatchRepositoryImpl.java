@@ -0,0 +1,52 @@
+package com.ead.course.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC fragment of {@link CourseRepository}: enrollments are written as one batched statement
+ * instead of one round trip per user. Runs inside the caller's JPA transaction; pairs that
+ * already exist are skipped by the {@code (course_id, user_id)} unique key, and the per-row
+ * update counts tell which users were actually enrolled by this call.
+ */
+public class CourseUserBatchRepositoryImpl implements CourseUserBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    final JdbcTemplate jdbcTemplate;
+
+    public CourseUserBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<UUID> saveCourseUsers(UUID courseId, Collection<UUID> userIds) {
+        List<UUID> orderedUserIds = List.copyOf(userIds);
+        int[][] updateCounts = jdbcTemplate.batchUpdate(
+                "insert into tb_courses_users (course_id, user_id) values (?, ?) on conflict do nothing",
+                orderedUserIds, BATCH_SIZE, (ps, userId) -> {
+                    ps.setObject(1, courseId);
+                    ps.setObject(2, userId);
+                });
+        Set<UUID> inserted = new HashSet<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("JDBC driver did not report per-row counts for enrollment inserts");
+                }
+                if (count > 0) {
+                    inserted.add(orderedUserIds.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.dtos.UserResponseRecordDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CourseUserRosterRepository {
+
+    List<UserResponseRecordDto> findRoster(UUID courseId, RosterFilterRecordDto filter, UUID afterUserId,
+                                           long offset, int limit);
+
+    long countRoster(UUID courseId, RosterFilterRecordDto filter);
+}
@@ -0,0 +1,88 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.dtos.UserResponseRecordDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC fragment of {@link CourseRepository}: the users of a course are read by walking the
+ * {@code (course_id, user_id)} unique index of {@code tb_courses_users} in user id order and
+ * joining each row to {@code tb_users} by primary key. Only the filters actually given are added
+ * to the statement, and text filters are prefix matches so they stay sargable.
+ */
+public class CourseUserRosterRepositoryImpl implements CourseUserRosterRepository {
+
+    private static final String SELECT = "select u.user_id, u.email, u.full_name, u.user_status, u.user_type, u.image_url";
+    private static final String FROM = " from tb_courses_users cu join tb_users u on u.user_id = cu.user_id" +
+            " where cu.course_id = :courseId";
+
+    private static final RowMapper<UserResponseRecordDto> ROW_MAPPER = (rs, rowNum) -> new UserResponseRecordDto(
+            rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3),
+            rs.getString(4), rs.getString(5), rs.getString(6));
+
+    final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CourseUserRosterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public List<UserResponseRecordDto> findRoster(UUID courseId, RosterFilterRecordDto filter, UUID afterUserId,
+                                                  long offset, int limit) {
+        var params = new MapSqlParameterSource("courseId", courseId)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        var sql = new StringBuilder(SELECT).append(FROM);
+        if (afterUserId != null) {
+            sql.append(" and cu.user_id > :afterUserId");
+            params.addValue("afterUserId", afterUserId);
+        }
+        appendFilter(sql, params, filter);
+        sql.append(" order by cu.user_id limit :limit offset :offset");
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    @Override
+    public long countRoster(UUID courseId, RosterFilterRecordDto filter) {
+        var params = new MapSqlParameterSource("courseId", courseId);
+        var sql = new StringBuilder("select count(*)").append(FROM);
+        appendFilter(sql, params, filter);
+        return jdbcTemplate.queryForObject(sql.toString(), params, Long.class);
+    }
+
+    private static void appendFilter(StringBuilder sql, MapSqlParameterSource params, RosterFilterRecordDto filter) {
+        if (filter == null) {
+            return;
+        }
+        if (hasText(filter.email())) {
+            sql.append(" and u.email like :email escape '\\'");
+            params.addValue("email", prefix(filter.email()));
+        }
+        if (hasText(filter.fullName())) {
+            sql.append(" and u.full_name like :fullName escape '\\'");
+            params.addValue("fullName", prefix(filter.fullName()));
+        }
+        if (hasText(filter.userStatus())) {
+            sql.append(" and u.user_status = :userStatus");
+            params.addValue("userStatus", filter.userStatus());
+        }
+        if (hasText(filter.userType())) {
+            sql.append(" and u.user_type = :userType");
+            params.addValue("userType", filter.userType());
+        }
+    }
+
+    private static String prefix(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,21 +1,51 @@
 package com.ead.course.repositories;
 
+import com.ead.course.dtos.ModuleLessonRecordDto;
+import com.ead.course.dtos.SearchSourceRecordDto;
 import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface LessonRepository extends JpaRepository<LessonModel, UUID>, JpaSpecificationExecutor<LessonModel> {
 
-    @Query(value="select * from tb_lessons where module_module_id = :moduleId", nativeQuery = true)
+    @Query(value="select * from tb_lessons where module_module_id = :moduleId and deletion_date is null", nativeQuery = true)
     List<LessonModel> findAllLessonsIntoModule(@Param("moduleId") UUID moduleId);
 
-    @Query(value="select * from tb_lessons where module_module_id = :moduleId and lesson_id = :lessonId", nativeQuery = true)
+    @Query(value="select * from tb_lessons where module_module_id = :moduleId and lesson_id = :lessonId and deletion_date is null", nativeQuery = true)
     Optional<LessonModel> findLessonIntoModule(@Param("moduleId") UUID moduleId, @Param("lessonId") UUID lessonId);
+
+    @Modifying
+    @Query(value = "delete from tb_lessons where module_module_id in (select module_id from tb_modules where course_course_id = :courseId)", nativeQuery = true)
+    void deleteLessonsIntoCourse(@Param("courseId") UUID courseId);
+
+    @Modifying
+    @Query(value = "delete from tb_lessons where module_module_id = :moduleId", nativeQuery = true)
+    void deleteLessonsIntoModule(@Param("moduleId") UUID moduleId);
+
+    @Modifying
+    @Query(value = "update tb_lessons set deletion_date = :deletionDate where module_module_id in (select module_id from tb_modules where course_course_id = :courseId) and deletion_date is null", nativeQuery = true)
+    void softDeleteLessonsIntoCourse(@Param("courseId") UUID courseId, @Param("deletionDate") LocalDateTime deletionDate);
+
+    @Modifying
+    @Query(value = "delete from tb_lessons where lesson_id in (select l.lesson_id from tb_lessons l join tb_modules m on m.module_id = l.module_module_id where m.course_course_id = :courseId limit :limit)", nativeQuery = true)
+    int purgeLessonsIntoCourse(@Param("courseId") UUID courseId, @Param("limit") int limit);
+
+    <T> Optional<T> findByLessonIdAndModuleModuleId(UUID lessonId, UUID moduleId, Class<T> type);
+
+    @Query("select new com.ead.course.dtos.ModuleLessonRecordDto(l.module.moduleId, l.lessonId, l.title, l.description, l.videoUrl, l.creationDate) " +
+            "from LessonModel l where l.module.moduleId in :moduleIds order by l.creationDate, l.lessonId")
+    List<ModuleLessonRecordDto> findAllLessonsIntoModules(@Param("moduleIds") Collection<UUID> moduleIds);
+
+    @Query("select new com.ead.course.dtos.SearchSourceRecordDto(m.course.courseId, m.moduleId, l.lessonId, l.title) from LessonModel l join l.module m")
+    List<SearchSourceRecordDto> findAllSearchSources();
 }
@@ -1,30 +1,50 @@
 package com.ead.course.repositories;
 
+import com.ead.course.dtos.SearchSourceRecordDto;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.ModuleModel;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ModuleRepository extends JpaRepository<ModuleModel, UUID>, JpaSpecificationExecutor<ModuleModel> {
 
-    @Query(value="select * from tb_modules where course_course_id = :courseId", nativeQuery = true)
+    @Query(value="select * from tb_modules where course_course_id = :courseId and deletion_date is null", nativeQuery = true)
     List<ModuleModel> findAllModulesIntoCourse(@Param("courseId") UUID courseId);
 
-    @Query(value="select * from tb_modules where course_course_id = :courseId and module_id = :moduleId", nativeQuery = true)
+    @Query(value="select * from tb_modules where course_course_id = :courseId and module_id = :moduleId and deletion_date is null", nativeQuery = true)
     Optional<ModuleModel> findModuleIntoCourse(@Param("courseId") UUID courseId, @Param("moduleId") UUID moduleId);
 
+    <T> Optional<T> findByModuleIdAndCourseCourseId(UUID moduleId, UUID courseId, Class<T> type);
+
+    <T> List<T> findByCourseCourseIdOrderByCreationDateAscModuleIdAsc(UUID courseId, Class<T> type);
+
+    @Query("select new com.ead.course.dtos.SearchSourceRecordDto(m.course.courseId, m.moduleId, m.moduleId, m.title) from ModuleModel m")
+    List<SearchSourceRecordDto> findAllSearchSources();
+
 
 //--> Example EntityGraph
 //    @EntityGraph(attributePaths = {"course"})
 //    ModuleModel findByTitle(String title);
 
-//--> Example Modifying
-//    @Modifying
-//    @Query(value = "delete from tb_modules where course_course_id = :courseId", nativeQuery = true)
-//    void deleteModulesIntoCourse(@Param("courseId") UUID courseId);
+    @Modifying
+    @Query(value = "delete from tb_modules where course_course_id = :courseId", nativeQuery = true)
+    void deleteModulesIntoCourse(@Param("courseId") UUID courseId);
+
+    @Modifying
+    @Query(value = "delete from tb_modules where module_id = :moduleId", nativeQuery = true)
+    void deleteModule(@Param("moduleId") UUID moduleId);
+
+    @Modifying
+    @Query(value = "update tb_modules set deletion_date = :deletionDate where course_course_id = :courseId and deletion_date is null", nativeQuery = true)
+    void softDeleteModulesIntoCourse(@Param("courseId") UUID courseId, @Param("deletionDate") LocalDateTime deletionDate);
+
+    @Modifying
+    @Query(value = "delete from tb_modules where module_id in (select module_id from tb_modules where course_course_id = :courseId limit :limit)", nativeQuery = true)
+    int purgeModulesIntoCourse(@Param("courseId") UUID courseId, @Param("limit") int limit);
 
 }
@@ -0,0 +1,11 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.NotificationRecordCommandDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface NotificationOutboxBatchRepository {
+
+    void saveNotifications(Collection<NotificationRecordCommandDto> notifications, LocalDateTime creationDate);
+}
@@ -0,0 +1,38 @@
+package com.ead.course.repositories;
+
+import com.ead.course.dtos.NotificationRecordCommandDto;
+import com.ead.course.models.UuidV7Generator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * JDBC fragment of {@link NotificationOutboxRepository}: a bulk enrollment writes its outbox rows
+ * as one batched statement inside the caller's JPA transaction.
+ */
+public class NotificationOutboxBatchRepositoryImpl implements NotificationOutboxBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void saveNotifications(Collection<NotificationRecordCommandDto> notifications, LocalDateTime creationDate) {
+        jdbcTemplate.batchUpdate(
+                "insert into tb_notification_outbox (outbox_id, title, message, user_id, creation_date, next_attempt_date, attempts) "
+                        + "values (?, ?, ?, ?, ?, ?, 0)",
+                notifications, BATCH_SIZE, (ps, notification) -> {
+                    ps.setObject(1, UuidV7Generator.nextUuid());
+                    ps.setString(2, notification.title());
+                    ps.setString(3, notification.message());
+                    ps.setObject(4, notification.userId());
+                    ps.setObject(5, creationDate);
+                    ps.setObject(6, creationDate);
+                });
+    }
+}
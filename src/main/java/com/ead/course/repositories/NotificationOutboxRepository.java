@@ -0,0 +1,20 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.NotificationOutboxModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxModel, UUID>,
+        NotificationOutboxBatchRepository {
+
+    @Query(value = "select * from tb_notification_outbox where next_attempt_date <= :now order by next_attempt_date limit :limit for update skip locked", nativeQuery = true)
+    List<NotificationOutboxModel> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("select min(o.creationDate) from NotificationOutboxModel o")
+    LocalDateTime findOldestCreationDate();
+}
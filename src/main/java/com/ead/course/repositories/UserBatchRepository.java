@@ -0,0 +1,13 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.UserModel;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface UserBatchRepository {
+
+    void upsertUsers(Collection<UserModel> users);
+
+    void deleteUsers(Collection<UUID> userIds);
+}
@@ -0,0 +1,45 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.UserModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * JDBC fragment of {@link UserRepository}: replicated users are written as batched statements
+ * inside the caller's JPA transaction.
+ */
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    final JdbcTemplate jdbcTemplate;
+
+    public UserBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertUsers(Collection<UserModel> users) {
+        jdbcTemplate.batchUpdate(
+                "insert into tb_users (user_id, email, full_name, user_status, user_type, image_url) "
+                        + "values (?, ?, ?, ?, ?, ?) on conflict (user_id) do update set "
+                        + "email = excluded.email, full_name = excluded.full_name, user_status = excluded.user_status, "
+                        + "user_type = excluded.user_type, image_url = excluded.image_url",
+                users, BATCH_SIZE, (ps, user) -> {
+                    ps.setObject(1, user.getUserId());
+                    ps.setString(2, user.getEmail());
+                    ps.setString(3, user.getFullName());
+                    ps.setString(4, user.getUserStatus());
+                    ps.setString(5, user.getUserType());
+                    ps.setString(6, user.getImageUrl());
+                });
+    }
+
+    @Override
+    public void deleteUsers(Collection<UUID> userIds) {
+        jdbcTemplate.batchUpdate("delete from tb_users where user_id = ?", userIds, BATCH_SIZE,
+                (ps, userId) -> ps.setObject(1, userId));
+    }
+}
@@ -0,0 +1,10 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.UserEventFingerprintModel;
+
+import java.util.Collection;
+
+public interface UserEventFingerprintBatchRepository {
+
+    void upsertFingerprints(Collection<UserEventFingerprintModel> fingerprints);
+}
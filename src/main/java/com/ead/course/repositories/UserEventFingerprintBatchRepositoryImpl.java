@@ -0,0 +1,34 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.UserEventFingerprintModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+
+/**
+ * JDBC fragment of {@link UserEventFingerprintRepository}: the write-behind flush stores the
+ * latest fingerprint per user as one batched upsert.
+ */
+public class UserEventFingerprintBatchRepositoryImpl implements UserEventFingerprintBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    final JdbcTemplate jdbcTemplate;
+
+    public UserEventFingerprintBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertFingerprints(Collection<UserEventFingerprintModel> fingerprints) {
+        jdbcTemplate.batchUpdate(
+                "insert into tb_user_event_fingerprints (user_id, fingerprint, processed_date) values (?, ?, ?) "
+                        + "on conflict (user_id) do update set fingerprint = excluded.fingerprint, "
+                        + "processed_date = excluded.processed_date",
+                fingerprints, BATCH_SIZE, (ps, fingerprint) -> {
+                    ps.setObject(1, fingerprint.getUserId());
+                    ps.setString(2, fingerprint.getFingerprint());
+                    ps.setObject(3, fingerprint.getProcessedDate());
+                });
+    }
+}
@@ -0,0 +1,18 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.UserEventFingerprintModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface UserEventFingerprintRepository extends JpaRepository<UserEventFingerprintModel, UUID>,
+        UserEventFingerprintBatchRepository {
+
+    @Modifying
+    @Query(value = "delete from tb_user_event_fingerprints where processed_date < :before", nativeQuery = true)
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,10 +1,32 @@
 package com.ead.course.repositories;
 
+import com.ead.course.dtos.SubscriptionCandidateRecordDto;
 import com.ead.course.models.UserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<UserModel, UUID>, JpaSpecificationExecutor {
+public interface UserRepository extends JpaRepository<UserModel, UUID>, JpaSpecificationExecutor<UserModel>,
+        UserBatchRepository {
+
+    @Query("select new com.ead.course.dtos.SubscriptionCandidateRecordDto(u.userId, u.fullName, u.userStatus, " +
+            "case when exists (select c.courseId from CourseModel c join c.users e where c.courseId = :courseId and e.userId = u.userId) " +
+            "then true else false end) from UserModel u where u.userId in :userIds")
+    List<SubscriptionCandidateRecordDto> findSubscriptionCandidates(@Param("courseId") UUID courseId,
+                                                                    @Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query(value = "insert into tb_users (user_id, email, full_name, user_status, user_type, image_url) " +
+            "values (:userId, :email, :fullName, :userStatus, :userType, :imageUrl) on conflict (user_id) do update set " +
+            "email = excluded.email, full_name = excluded.full_name, user_status = excluded.user_status, " +
+            "user_type = excluded.user_type, image_url = excluded.image_url", nativeQuery = true)
+    int upsertUser(@Param("userId") UUID userId, @Param("email") String email, @Param("fullName") String fullName,
+                   @Param("userStatus") String userStatus, @Param("userType") String userType,
+                   @Param("imageUrl") String imageUrl);
 }
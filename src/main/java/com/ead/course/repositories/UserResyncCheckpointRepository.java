@@ -0,0 +1,7 @@
+package com.ead.course.repositories;
+
+import com.ead.course.models.UserResyncCheckpointModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserResyncCheckpointRepository extends JpaRepository<UserResyncCheckpointModel, String> {
+}
@@ -0,0 +1,97 @@
+package com.ead.course.schedulers;
+
+import com.ead.course.dtos.CoursePurgeStatusRecordDto;
+import com.ead.course.services.CoursePurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CoursePurgeScheduler {
+
+    Logger logger = LogManager.getLogger(CoursePurgeScheduler.class);
+
+    final CoursePurgeService coursePurgeService;
+    final int batchSize;
+    final int chunkSize;
+    final ExecutorService executor;
+
+    private final Set<UUID> inProgress = ConcurrentHashMap.newKeySet();
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter purgedCourses;
+    private final Counter purgedRows;
+    private final Counter failures;
+    private volatile Instant lastRunAt;
+
+    public CoursePurgeScheduler(CoursePurgeService coursePurgeService, MeterRegistry meterRegistry,
+                                @Value("${ead.purge.batchSize:20}") int batchSize,
+                                @Value("${ead.purge.chunkSize:500}") int chunkSize,
+                                @Value("${ead.purge.concurrency:2}") int concurrency) {
+        this.coursePurgeService = coursePurgeService;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newFixedThreadPool(concurrency, Thread.ofPlatform().name("course-purge-", 0).factory());
+        this.purgedCourses = meterRegistry.counter("ead.course.purge.courses");
+        this.purgedRows = meterRegistry.counter("ead.course.purge.rows");
+        this.failures = meterRegistry.counter("ead.course.purge.failures");
+        Gauge.builder("ead.course.purge.backlog", backlog, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("ead.course.purge.in.progress", inProgress, Set::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ead.purge.fixedDelay:PT30S}", initialDelayString = "${ead.purge.initialDelay:PT1M}")
+    public void purgeDeletedCourses() throws InterruptedException {
+        lastRunAt = Instant.now();
+        backlog.set(coursePurgeService.countCoursesPendingPurge());
+        List<Callable<Void>> purges = coursePurgeService.findCoursesPendingPurge(batchSize).stream()
+                .<Callable<Void>>map(courseId -> () -> {
+                    purge(courseId);
+                    return null;
+                })
+                .toList();
+        executor.invokeAll(purges);
+        backlog.set(coursePurgeService.countCoursesPendingPurge());
+    }
+
+    private void purge(UUID courseId) {
+        if (!inProgress.add(courseId)) {
+            return;
+        }
+        try {
+            purgedRows.increment(coursePurgeService.purge(courseId, chunkSize));
+            purgedCourses.increment();
+            logger.debug("Purged soft-deleted course {}", courseId);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Error purging course {}: {}", courseId, e.getMessage());
+        } finally {
+            inProgress.remove(courseId);
+        }
+    }
+
+    public CoursePurgeStatusRecordDto getStatus() {
+        backlog.set(coursePurgeService.countCoursesPendingPurge());
+        return new CoursePurgeStatusRecordDto(backlog.get(), Set.copyOf(inProgress),
+                (long) purgedCourses.count(), (long) purgedRows.count(), (long) failures.count(), lastRunAt);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ead.course.schedulers;
+
+import com.ead.course.services.NotificationOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class NotificationOutboxScheduler {
+
+    Logger logger = LogManager.getLogger(NotificationOutboxScheduler.class);
+
+    final NotificationOutboxService notificationOutboxService;
+    final int batchSize;
+    final int maxBatchesPerRun;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayed;
+    private final Counter failures;
+
+    public NotificationOutboxScheduler(NotificationOutboxService notificationOutboxService, MeterRegistry meterRegistry,
+                                       @Value("${ead.outbox.batchSize:200}") int batchSize,
+                                       @Value("${ead.outbox.maxBatchesPerRun:50}") int maxBatchesPerRun) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.relayed = meterRegistry.counter("ead.course.outbox.relayed");
+        this.failures = meterRegistry.counter("ead.course.outbox.failures");
+        Gauge.builder("ead.course.outbox.depth", depth, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("ead.course.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("Age of the oldest notification command still waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ead.outbox.fixedDelay:PT1S}", initialDelayString = "${ead.outbox.initialDelay:PT10S}")
+    public void relayNotificationCommands() {
+        try {
+            int batches = 0;
+            int sent;
+            do {
+                sent = notificationOutboxService.relay(batchSize);
+                relayed.increment(sent);
+            } while (sent >= batchSize && ++batches < maxBatchesPerRun);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Error relaying notification commands: {}", e.getMessage());
+        }
+        depth.set(notificationOutboxService.countPending());
+        LocalDateTime oldest = notificationOutboxService.findOldestPendingDate();
+        lagMillis.set(oldest != null ? Duration.between(oldest, LocalDateTime.now(ZoneId.of("UTC"))).toMillis() : 0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ead.course.schedulers;
+
+import com.ead.course.configs.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "ead.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaHealthScheduler {
+
+    final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    public ReplicaHealthScheduler(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${ead.datasource.replicas.healthCheckDelay:PT5S}")
+    public void checkReplicas() {
+        replicaRoutingDataSource.checkReplicas();
+    }
+}
@@ -0,0 +1,34 @@
+package com.ead.course.schedulers;
+
+import com.ead.course.services.UserEventDeduplicationService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEventDeduplicationScheduler {
+
+    Logger logger = LogManager.getLogger(UserEventDeduplicationScheduler.class);
+
+    final UserEventDeduplicationService userEventDeduplicationService;
+
+    public UserEventDeduplicationScheduler(UserEventDeduplicationService userEventDeduplicationService) {
+        this.userEventDeduplicationService = userEventDeduplicationService;
+    }
+
+    @Scheduled(fixedDelayString = "${ead.broker.queue.userEventQueue.dedup.flushDelay:PT5S}")
+    public void flushFingerprints() {
+        userEventDeduplicationService.flush();
+    }
+
+    @Scheduled(fixedDelayString = "${ead.broker.queue.userEventQueue.dedup.expireDelay:PT10M}",
+            initialDelayString = "${ead.broker.queue.userEventQueue.dedup.expireDelay:PT10M}")
+    public void expireFingerprints() {
+        try {
+            logger.debug("Expired {} user event fingerprints", userEventDeduplicationService.expire());
+        } catch (RuntimeException e) {
+            logger.error("Error expiring user event fingerprints: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ead.course.services;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CoursePurgeService {
+
+    List<UUID> findCoursesPendingPurge(int limit);
+
+    long countCoursesPendingPurge();
+
+    long purge(UUID courseId, int chunkSize);
+}
@@ -1,6 +1,10 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.BulkSubscriptionSummaryRecordDto;
 import com.ead.course.dtos.CourseRecordDTO;
+import com.ead.course.dtos.CourseResponseRecordDto;
+import com.ead.course.dtos.CourseTreeRecordDto;
+import com.ead.course.dtos.CursorPageRecordDto;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.UserModel;
 import com.ead.course.specifications.SpecificationTemplate;
@@ -9,6 +13,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
@@ -19,18 +24,34 @@ public interface CourseService {
 
     void delete(CourseModel courseModel);
 
+    void softDelete(CourseModel courseModel);
+
     CourseModel save(CourseRecordDTO courseRecordDTO);
 
     boolean existsByName(@NotBlank String name);
 
-    public Page<CourseModel> findAll(Specification<CourseModel> spec, Pageable pageable);
+    public Page<CourseResponseRecordDto> findAll(Specification<CourseModel> spec, Pageable pageable);
+
+    CursorPageRecordDto<CourseResponseRecordDto> findAll(Specification<CourseModel> spec, String after, Pageable pageable);
+
+    Slice<CourseResponseRecordDto> findAllSlice(Specification<CourseModel> spec, Pageable pageable);
+
+    Page<CourseResponseRecordDto> findAllEstimated(Specification<CourseModel> spec, Pageable pageable, String countKey);
+
+    Page<CourseResponseRecordDto> search(String query, Pageable pageable);
 
 
     Optional<CourseModel> findById(UUID courseId);
 
-    CourseModel update(@Valid CourseRecordDTO courseRecordDTO, CourseModel courseModel);
+    Optional<CourseResponseRecordDto> findResponseById(UUID courseId);
+
+    CourseTreeRecordDto findTreeById(UUID courseId);
+
+    CourseModel update(UUID courseId, @Valid CourseRecordDTO courseRecordDTO);
 
     boolean existsByCourseAndUser(UUID courseId, @NotNull(message = "UserId is required") UUID userId);
 
-    void saveSubscriptionInCourse(CourseModel courseModel, UserModel userModel);
+    boolean saveSubscriptionInCourse(CourseModel courseModel, UserModel userModel);
+
+    BulkSubscriptionSummaryRecordDto saveSubscriptionsInCourse(CourseModel courseModel, List<UUID> userIds);
 }
@@ -1,12 +1,15 @@
 package com.ead.course.services;
 
 
+import com.ead.course.dtos.CursorPageRecordDto;
 import com.ead.course.dtos.LessonRecordDTO;
+import com.ead.course.dtos.LessonResponseRecordDto;
 import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
@@ -20,9 +23,17 @@ public interface LessonService {
 
     Optional<LessonModel> findLessonIntoModule(UUID moduleId, UUID lessonId);
 
+    Optional<LessonResponseRecordDto> findResponseIntoModule(UUID moduleId, UUID lessonId);
+
     void delete(LessonModel lessonModel);
 
-    LessonModel update(LessonRecordDTO lessonRecordDTO, LessonModel lessonModel);
+    LessonModel update(UUID moduleId, UUID lessonId, LessonRecordDTO lessonRecordDTO);
+
+    Page<LessonResponseRecordDto> findAllLessonsIntoModule(Specification<LessonModel> and, Pageable pageable);
+
+    CursorPageRecordDto<LessonResponseRecordDto> findAllLessonsIntoModule(Specification<LessonModel> spec, String after, Pageable pageable);
+
+    Slice<LessonResponseRecordDto> findAllLessonsIntoModuleSlice(Specification<LessonModel> spec, Pageable pageable);
 
-    Page<LessonModel> findAllLessonsIntoModule(Specification<LessonModel> and, Pageable pageable);
+    Page<LessonResponseRecordDto> findAllLessonsIntoModuleEstimated(Specification<LessonModel> spec, Pageable pageable, String countKey);
 }
@@ -1,11 +1,14 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.CursorPageRecordDto;
 import com.ead.course.dtos.ModuleRecordDTO;
+import com.ead.course.dtos.ModuleResponseRecordDto;
 import com.ead.course.models.CourseModel;
 import com.ead.course.models.ModuleModel;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
@@ -22,9 +25,17 @@ public interface ModuleService {
 
     Optional<ModuleModel> findModuleIntoCourse(UUID courseId, UUID moduleId);
 
-    ModuleModel update(@Valid ModuleRecordDTO moduleRecordDTO, ModuleModel moduleModel);
+    Optional<ModuleResponseRecordDto> findResponseIntoCourse(UUID courseId, UUID moduleId);
+
+    ModuleModel update(UUID courseId, UUID moduleId, @Valid ModuleRecordDTO moduleRecordDTO);
 
     Optional<ModuleModel> findById(UUID moduleId);
 
-    Page<ModuleModel> findAllModulesIntoCourse(Specification<ModuleModel> and, Pageable pageable);
+    Page<ModuleResponseRecordDto> findAllModulesIntoCourse(Specification<ModuleModel> and, Pageable pageable);
+
+    CursorPageRecordDto<ModuleResponseRecordDto> findAllModulesIntoCourse(Specification<ModuleModel> spec, String after, Pageable pageable);
+
+    Slice<ModuleResponseRecordDto> findAllModulesIntoCourseSlice(Specification<ModuleModel> spec, Pageable pageable);
+
+    Page<ModuleResponseRecordDto> findAllModulesIntoCourseEstimated(Specification<ModuleModel> spec, Pageable pageable, String countKey);
 }
@@ -0,0 +1,17 @@
+package com.ead.course.services;
+
+import com.ead.course.dtos.NotificationRecordCommandDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxService {
+
+    void enqueue(List<NotificationRecordCommandDto> notifications);
+
+    int relay(int batchSize);
+
+    long countPending();
+
+    LocalDateTime findOldestPendingDate();
+}
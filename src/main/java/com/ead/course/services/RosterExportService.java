@@ -0,0 +1,12 @@
+package com.ead.course.services;
+
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.enums.ExportFormat;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface RosterExportService {
+
+    long exportRoster(UUID courseId, RosterFilterRecordDto filter, ExportFormat format, OutputStream outputStream);
+}
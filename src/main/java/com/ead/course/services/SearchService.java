@@ -0,0 +1,28 @@
+package com.ead.course.services;
+
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface SearchService {
+
+    Page<UUID> searchCourseIds(String query, Pageable pageable);
+
+    void indexCourse(CourseModel courseModel);
+
+    void removeCourse(UUID courseId);
+
+    void indexModule(ModuleModel moduleModel);
+
+    void removeModule(ModuleModel moduleModel);
+
+    void indexLesson(LessonModel lessonModel);
+
+    void removeLesson(LessonModel lessonModel);
+
+    void rebuild();
+}
@@ -0,0 +1,16 @@
+package com.ead.course.services;
+
+import com.ead.course.dtos.UserEventRecordDto;
+
+import java.util.Collection;
+
+public interface UserEventDeduplicationService {
+
+    boolean isDuplicate(UserEventRecordDto userEvent);
+
+    void markApplied(Collection<UserEventRecordDto> userEvents);
+
+    void flush();
+
+    int expire();
+}
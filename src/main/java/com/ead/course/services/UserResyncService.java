@@ -0,0 +1,10 @@
+package com.ead.course.services;
+
+import com.ead.course.dtos.UserResyncStatusRecordDto;
+
+public interface UserResyncService {
+
+    boolean start(boolean restart);
+
+    UserResyncStatusRecordDto getStatus();
+}
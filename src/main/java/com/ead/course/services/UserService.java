@@ -1,19 +1,36 @@
 package com.ead.course.services;
 
+import com.ead.course.dtos.CursorPageRecordDto;
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.dtos.UserResponseRecordDto;
 import com.ead.course.models.UserModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserService {
-    Page<UserModel> findAll(Specification<UserModel> spec, Pageable pageable);
+    Page<UserResponseRecordDto> findRoster(UUID courseId, RosterFilterRecordDto filter, Pageable pageable);
+
+    CursorPageRecordDto<UserResponseRecordDto> findRoster(UUID courseId, RosterFilterRecordDto filter, String after,
+                                                          Pageable pageable);
+
+    Slice<UserResponseRecordDto> findRosterSlice(UUID courseId, RosterFilterRecordDto filter, Pageable pageable);
+
+    Page<UserResponseRecordDto> findRosterEstimated(UUID courseId, RosterFilterRecordDto filter, Pageable pageable,
+                                                    String countKey);
 
     UserModel save(UserModel userModel);
 
     void delete(UUID userId);
 
+    void replicate(UserEventRecordDto userEvent);
+
+    void applyEvents(Collection<UserEventRecordDto> userEvents);
+
     Optional<UserModel> findById(UUID userId);
 }
@@ -0,0 +1,63 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.services.CoursePurgeService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Removes soft-deleted courses child-first, each chunk in its own short transaction so no
+ * request-sized lock or connection is held while a large course is purged.
+ */
+@Service
+public class CoursePurgeServiceImpl implements CoursePurgeService {
+
+    final CourseRepository courseRepository;
+    final ModuleRepository moduleRepository;
+    final LessonRepository lessonRepository;
+    final TransactionTemplate transactionTemplate;
+
+    public CoursePurgeServiceImpl(CourseRepository courseRepository, ModuleRepository moduleRepository,
+                                  LessonRepository lessonRepository, PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.lessonRepository = lessonRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<UUID> findCoursesPendingPurge(int limit) {
+        return courseRepository.findCoursesPendingPurge(limit).stream().map(UUID::fromString).toList();
+    }
+
+    @Override
+    public long countCoursesPendingPurge() {
+        return courseRepository.countCoursesPendingPurge();
+    }
+
+    @Override
+    public long purge(UUID courseId, int chunkSize) {
+        long purged = purgeInChunks(() -> lessonRepository.purgeLessonsIntoCourse(courseId, chunkSize), chunkSize);
+        purged += purgeInChunks(() -> moduleRepository.purgeModulesIntoCourse(courseId, chunkSize), chunkSize);
+        purged += purgeInChunks(() -> courseRepository.purgeCourseUsers(courseId, chunkSize), chunkSize);
+        transactionTemplate.executeWithoutResult(status -> courseRepository.deleteCourse(courseId));
+        return purged + 1;
+    }
+
+    private long purgeInChunks(IntSupplier chunk, int chunkSize) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> chunk.getAsInt());
+            purged += deleted;
+        } while (deleted >= chunkSize);
+        return purged;
+    }
+}
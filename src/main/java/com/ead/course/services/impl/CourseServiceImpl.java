@@ -1,63 +1,117 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.configs.CacheConfig;
+import com.ead.course.dtos.BulkSubscriptionSummaryRecordDto;
 import com.ead.course.dtos.CourseRecordDTO;
+import com.ead.course.dtos.CourseResponseRecordDto;
+import com.ead.course.dtos.CourseTreeRecordDto;
+import com.ead.course.dtos.LessonResponseRecordDto;
+import com.ead.course.dtos.ModuleLessonRecordDto;
+import com.ead.course.dtos.ModuleResponseRecordDto;
+import com.ead.course.dtos.ModuleTreeRecordDto;
+import com.ead.course.dtos.CursorPageRecordDto;
 import com.ead.course.dtos.NotificationRecordCommandDto;
+import com.ead.course.dtos.SubscriptionCandidateRecordDto;
+import com.ead.course.dtos.SubscriptionResultRecordDto;
+import com.ead.course.enums.SubscriptionStatus;
+import com.ead.course.enums.UserStatus;
 import com.ead.course.exceptions.NotFoundException;
 import com.ead.course.models.CourseModel;
-import com.ead.course.models.LessonModel;
-import com.ead.course.models.ModuleModel;
 import com.ead.course.models.UserModel;
-import com.ead.course.publishers.NotificationCommandPublisher;
 import com.ead.course.repositories.CourseRepository;
 import com.ead.course.repositories.LessonRepository;
 import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
 import com.ead.course.services.CourseService;
+import com.ead.course.services.NotificationOutboxService;
+import com.ead.course.services.SearchService;
+import com.ead.course.specifications.KeysetOrder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CourseServiceImpl implements CourseService {
 
+    private static final int SUBSCRIPTION_CANDIDATES_CHUNK_SIZE = 1000;
+
+    private static final KeysetOrder<CourseModel, CourseResponseRecordDto> KEYSET_ORDER = new KeysetOrder<>(
+            "creationDate", CourseResponseRecordDto::creationDate, "courseId", CourseResponseRecordDto::courseId);
+
     Logger logger = LogManager.getLogger(CourseServiceImpl.class);
     final CourseRepository courseRepository;
     final ModuleRepository moduleRepository;
     final LessonRepository lessonRepository;
-    final NotificationCommandPublisher  notificationCommandPublisher;
+    final UserRepository userRepository;
+    final NotificationOutboxService notificationOutboxService;
+    final PageQueries pageQueries;
+    final SearchService searchService;
 
-    public CourseServiceImpl(CourseRepository courseRepository, ModuleRepository moduleRepository, LessonRepository lessonRepository, NotificationCommandPublisher notificationCommandPublisher) {
+    public CourseServiceImpl(CourseRepository courseRepository, ModuleRepository moduleRepository, LessonRepository lessonRepository,
+                             UserRepository userRepository, NotificationOutboxService notificationOutboxService,
+                             PageQueries pageQueries, SearchService searchService) {
         this.courseRepository = courseRepository;
         this.moduleRepository = moduleRepository;
         this.lessonRepository = lessonRepository;
-        this.notificationCommandPublisher = notificationCommandPublisher;
+        this.userRepository = userRepository;
+        this.notificationOutboxService = notificationOutboxService;
+        this.pageQueries = pageQueries;
+        this.searchService = searchService;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES_CACHE, key = "'response:' + #courseModel.courseId"),
+            @CacheEvict(cacheNames = CacheConfig.MODULES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.LESSONS_CACHE, allEntries = true)
+    })
     @Transactional
     @Override
     public void delete(CourseModel courseModel) {
-        List<ModuleModel> moduleModelList = moduleRepository.findAllModulesIntoCourse(courseModel.getCourseId());
-        if (!moduleModelList.isEmpty()){
-            for(ModuleModel module : moduleModelList){
-                List<LessonModel> lessonModelList = lessonRepository.findAllLessonsIntoModule(module.getModuleId());
-                if (!lessonModelList.isEmpty()){
-                    lessonRepository.deleteAll(lessonModelList);
-                }
-            }
-            moduleRepository.deleteAll(moduleModelList);
-        }
+        lessonRepository.deleteLessonsIntoCourse(courseModel.getCourseId());
+        moduleRepository.deleteModulesIntoCourse(courseModel.getCourseId());
         courseRepository.deleteCourseUserByCourse(courseModel.getCourseId());
-        courseRepository.delete(courseModel);
+        courseRepository.deleteCourse(courseModel.getCourseId());
+        searchService.removeCourse(courseModel.getCourseId());
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES_CACHE, key = "'response:' + #courseModel.courseId"),
+            @CacheEvict(cacheNames = CacheConfig.MODULES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.LESSONS_CACHE, allEntries = true)
+    })
+    @Transactional
+    @Override
+    public void softDelete(CourseModel courseModel) {
+        var deletionDate = LocalDateTime.now(ZoneId.of("UTC"));
+        lessonRepository.softDeleteLessonsIntoCourse(courseModel.getCourseId(), deletionDate);
+        moduleRepository.softDeleteModulesIntoCourse(courseModel.getCourseId(), deletionDate);
+        courseRepository.softDeleteCourse(courseModel.getCourseId(), deletionDate);
+        searchService.removeCourse(courseModel.getCourseId());
     }
 
     @Override
@@ -67,7 +121,9 @@ public class CourseServiceImpl implements CourseService {
         courseModel.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
         courseModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
 
-        return courseRepository.save(courseModel);
+        courseModel = courseRepository.save(courseModel);
+        searchService.indexCourse(courseModel);
+        return courseModel;
     }
 
     @Override
@@ -75,9 +131,51 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.existsByName(name);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<CourseResponseRecordDto> findAll(Specification<CourseModel> spec, Pageable pageable) {
+        return pageQueries.findPage(CourseModel.class, CourseResponseRecordDto.class, spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageRecordDto<CourseResponseRecordDto> findAll(Specification<CourseModel> spec, String after, Pageable pageable) {
+        return pageQueries.findCursorPage(CourseModel.class, CourseResponseRecordDto.class, KEYSET_ORDER, spec, after, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<CourseResponseRecordDto> findAllSlice(Specification<CourseModel> spec, Pageable pageable) {
+        return pageQueries.findSlice(CourseModel.class, CourseResponseRecordDto.class, spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<CourseResponseRecordDto> findAllEstimated(Specification<CourseModel> spec, Pageable pageable, String countKey) {
+        return pageQueries.findEstimatedPage(CourseModel.class, CourseResponseRecordDto.class, spec, pageable, countKey,
+                () -> spec == null ? estimateCourseCount() : courseRepository.count(spec));
+    }
+
+    @Transactional(readOnly = true)
     @Override
-    public Page<CourseModel> findAll(Specification<CourseModel> spec, Pageable pageable) {
-        return courseRepository.findAll(spec, pageable);
+    public Page<CourseResponseRecordDto> search(String query, Pageable pageable) {
+        Page<UUID> courseIds = searchService.searchCourseIds(query, pageable);
+        if (courseIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, courseIds.getTotalElements());
+        }
+        Map<UUID, CourseResponseRecordDto> coursesById = courseRepository
+                .findByCourseIdIn(courseIds.getContent(), CourseResponseRecordDto.class).stream()
+                .collect(Collectors.toMap(CourseResponseRecordDto::courseId, Function.identity()));
+        List<CourseResponseRecordDto> ranked = courseIds.getContent().stream()
+                .map(coursesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, pageable, courseIds.getTotalElements());
+    }
+
+    private long estimateCourseCount() {
+        Long estimate = courseRepository.estimateCourseCount();
+        return estimate != null && estimate >= 0 ? estimate : courseRepository.count();
     }
 
     @Override
@@ -87,14 +185,51 @@ public class CourseServiceImpl implements CourseService {
         if(optionalCourseModel.isEmpty()) {
             throw new NotFoundException("Error: course not found");
         }
-        return courseRepository.findById(courseId);
+        return optionalCourseModel;
     }
 
+    @Cacheable(cacheNames = CacheConfig.COURSES_CACHE, key = "'response:' + #courseId")
+    @Transactional(readOnly = true)
     @Override
-    public CourseModel update(CourseRecordDTO courseRecordDTO, CourseModel courseModel) {
+    public Optional<CourseResponseRecordDto> findResponseById(UUID courseId) {
+        Optional<CourseResponseRecordDto> optionalCourse = courseRepository.findByCourseId(courseId, CourseResponseRecordDto.class);
+        if(optionalCourse.isEmpty()) {
+            throw new NotFoundException("Error: course not found");
+        }
+        return optionalCourse;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CourseTreeRecordDto findTreeById(UUID courseId) {
+        CourseResponseRecordDto course = courseRepository.findByCourseId(courseId, CourseResponseRecordDto.class)
+                .orElseThrow(() -> new NotFoundException("Error: course not found"));
+        List<ModuleResponseRecordDto> modules = moduleRepository
+                .findByCourseCourseIdOrderByCreationDateAscModuleIdAsc(courseId, ModuleResponseRecordDto.class);
+        if (modules.isEmpty()) {
+            return new CourseTreeRecordDto(course, List.of());
+        }
+        Map<UUID, List<LessonResponseRecordDto>> lessonsByModule = lessonRepository
+                .findAllLessonsIntoModules(modules.stream().map(ModuleResponseRecordDto::moduleId).toList()).stream()
+                .collect(Collectors.groupingBy(ModuleLessonRecordDto::moduleId,
+                        Collectors.mapping(ModuleLessonRecordDto::toResponse, Collectors.toList())));
+        return new CourseTreeRecordDto(course, modules.stream()
+                .map(module -> new ModuleTreeRecordDto(module,
+                        lessonsByModule.getOrDefault(module.moduleId(), List.of())))
+                .toList());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.COURSES_CACHE, key = "'response:' + #courseId")
+    @Transactional
+    @Override
+    public CourseModel update(UUID courseId, CourseRecordDTO courseRecordDTO) {
+        CourseModel courseModel = courseRepository.findById(courseId)
+                .orElseThrow(() -> new NotFoundException("Error: course not found"));
         BeanUtils.copyProperties(courseRecordDTO, courseModel);
         courseModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
-        return courseRepository.save(courseModel);
+        courseModel = courseRepository.save(courseModel);
+        searchService.indexCourse(courseModel);
+        return courseModel;
     }
 
     @Override
@@ -104,18 +239,71 @@ public class CourseServiceImpl implements CourseService {
 
     @Transactional
     @Override
-    public void saveSubscriptionInCourse(CourseModel courseModel, UserModel userModel) {
-        courseRepository.saveCourseUser(courseModel.getCourseId(), userModel.getUserId());
-
-        try {
-            var notificationCommandDto = new NotificationRecordCommandDto(
-                    "welcome to course",
-                    "user"+ userModel.getFullName(),
-                    userModel.getUserId()
-            );
-            notificationCommandPublisher.publishNotificationCommand(notificationCommandDto);
-        } catch (Exception e) {
-            logger.error("error on saveSubscriptionInCourse");
+    public boolean saveSubscriptionInCourse(CourseModel courseModel, UserModel userModel) {
+        if (courseRepository.saveCourseUser(courseModel.getCourseId(), userModel.getUserId()) == 0) {
+            return false;
+        }
+
+        notificationOutboxService.enqueue(List.of(new NotificationRecordCommandDto(
+                "welcome to course",
+                "user"+ userModel.getFullName(),
+                userModel.getUserId()
+        )));
+        return true;
+    }
+
+    @Transactional
+    @Override
+    public BulkSubscriptionSummaryRecordDto saveSubscriptionsInCourse(CourseModel courseModel, List<UUID> userIds) {
+        List<UUID> distinctUserIds = List.copyOf(new LinkedHashSet<>(userIds));
+        Map<UUID, SubscriptionCandidateRecordDto> candidates = new HashMap<>();
+        for (int from = 0; from < distinctUserIds.size(); from += SUBSCRIPTION_CANDIDATES_CHUNK_SIZE) {
+            List<UUID> chunk = distinctUserIds.subList(from,
+                    Math.min(from + SUBSCRIPTION_CANDIDATES_CHUNK_SIZE, distinctUserIds.size()));
+            userRepository.findSubscriptionCandidates(courseModel.getCourseId(), chunk)
+                    .forEach(candidate -> candidates.put(candidate.userId(), candidate));
+        }
+
+        List<SubscriptionCandidateRecordDto> eligible = new ArrayList<>();
+        for (UUID userId : distinctUserIds) {
+            SubscriptionCandidateRecordDto candidate = candidates.get(userId);
+            if (candidate != null && !candidate.subscribed()
+                    && !UserStatus.BLOCKED.toString().equals(candidate.userStatus())) {
+                eligible.add(candidate);
+            }
+        }
+        Set<UUID> inserted = eligible.isEmpty() ? Set.of() : courseRepository.saveCourseUsers(courseModel.getCourseId(),
+                eligible.stream().map(SubscriptionCandidateRecordDto::userId).toList());
+
+        List<SubscriptionResultRecordDto> results = new ArrayList<>(distinctUserIds.size());
+        for (UUID userId : distinctUserIds) {
+            SubscriptionCandidateRecordDto candidate = candidates.get(userId);
+            SubscriptionStatus status;
+            if (candidate == null) {
+                status = SubscriptionStatus.USER_NOT_FOUND;
+            } else if (inserted.contains(userId)) {
+                status = SubscriptionStatus.SUBSCRIBED;
+            } else if (UserStatus.BLOCKED.toString().equals(candidate.userStatus()) && !candidate.subscribed()) {
+                status = SubscriptionStatus.USER_BLOCKED;
+            } else {
+                // either enrolled before this call or by a concurrent one since the candidate lookup
+                status = SubscriptionStatus.ALREADY_SUBSCRIBED;
+            }
+            results.add(new SubscriptionResultRecordDto(userId, status));
+        }
+
+        if (!inserted.isEmpty()) {
+            notificationOutboxService.enqueue(eligible.stream()
+                    .filter(candidate -> inserted.contains(candidate.userId()))
+                    .map(candidate -> new NotificationRecordCommandDto(
+                            "welcome to course",
+                            "user" + candidate.fullName(),
+                            candidate.userId()))
+                    .toList());
         }
+        Map<SubscriptionStatus, Long> totals = results.stream().collect(Collectors.groupingBy(
+                SubscriptionResultRecordDto::status, () -> new EnumMap<>(SubscriptionStatus.class), Collectors.counting()));
+        return new BulkSubscriptionSummaryRecordDto(distinctUserIds.size(), userIds.size() - distinctUserIds.size(),
+                totals, results);
     }
 }
@@ -1,16 +1,25 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.configs.CacheConfig;
+import com.ead.course.dtos.CursorPageRecordDto;
 import com.ead.course.dtos.LessonRecordDTO;
+import com.ead.course.dtos.LessonResponseRecordDto;
 import com.ead.course.exceptions.NotFoundException;
 import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.repositories.LessonRepository;
 import com.ead.course.services.LessonService;
+import com.ead.course.services.SearchService;
+import com.ead.course.specifications.KeysetOrder;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -21,11 +30,18 @@ import java.util.UUID;
 @Service
 public class LessonServiceImpl implements LessonService {
 
+    private static final KeysetOrder<LessonModel, LessonResponseRecordDto> KEYSET_ORDER = new KeysetOrder<>(
+            "creationDate", LessonResponseRecordDto::creationDate, "lessonId", LessonResponseRecordDto::lessonId);
+
     final LessonRepository lessonRepository;
+    final PageQueries pageQueries;
+    final SearchService searchService;
 
-    public LessonServiceImpl(LessonRepository lessonRepository) {
+    public LessonServiceImpl(LessonRepository lessonRepository, PageQueries pageQueries, SearchService searchService) {
 
         this.lessonRepository = lessonRepository;
+        this.pageQueries = pageQueries;
+        this.searchService = searchService;
     }
 
     @Override
@@ -35,7 +51,9 @@ public class LessonServiceImpl implements LessonService {
         lessonModel.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
         lessonModel.setModule(moduleModel);
 
-        return lessonRepository.save(lessonModel);
+        lessonModel = lessonRepository.save(lessonModel);
+        searchService.indexLesson(lessonModel);
+        return lessonModel;
     }
 
     @Override
@@ -52,19 +70,60 @@ public class LessonServiceImpl implements LessonService {
         return optionalLessonModel;
     }
 
+    @Cacheable(cacheNames = CacheConfig.LESSONS_CACHE, key = "'response:' + #moduleId + ':' + #lessonId")
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<LessonResponseRecordDto> findResponseIntoModule(UUID moduleId, UUID lessonId) {
+        Optional<LessonResponseRecordDto> optionalLesson = lessonRepository.findByLessonIdAndModuleModuleId(
+                lessonId, moduleId, LessonResponseRecordDto.class);
+        if(optionalLesson.isEmpty()) {
+            throw new NotFoundException("Error: lesson not found for this module");
+        }
+        return optionalLesson;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.LESSONS_CACHE, key = "'response:' + #lessonModel.module.moduleId + ':' + #lessonModel.lessonId")
+    @Transactional
     @Override
     public void delete(LessonModel lessonModel) {
         lessonRepository.delete(lessonModel);
+        searchService.removeLesson(lessonModel);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LESSONS_CACHE, key = "'response:' + #moduleId + ':' + #lessonId")
+    @Transactional
     @Override
-    public LessonModel update(LessonRecordDTO lessonRecordDTO, LessonModel lessonModel) {
+    public LessonModel update(UUID moduleId, UUID lessonId, LessonRecordDTO lessonRecordDTO) {
+        LessonModel lessonModel = lessonRepository.findLessonIntoModule(moduleId, lessonId)
+                .orElseThrow(() -> new NotFoundException("Error: lesson not found for this module"));
         BeanUtils.copyProperties(lessonRecordDTO, lessonModel);
-        return lessonRepository.save(lessonModel);
+        lessonModel = lessonRepository.save(lessonModel);
+        searchService.indexLesson(lessonModel);
+        return lessonModel;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<LessonResponseRecordDto> findAllLessonsIntoModule(Specification<LessonModel> spec, Pageable pageable) {
+        return pageQueries.findPage(LessonModel.class, LessonResponseRecordDto.class, spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageRecordDto<LessonResponseRecordDto> findAllLessonsIntoModule(Specification<LessonModel> spec, String after, Pageable pageable) {
+        return pageQueries.findCursorPage(LessonModel.class, LessonResponseRecordDto.class, KEYSET_ORDER, spec, after, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<LessonResponseRecordDto> findAllLessonsIntoModuleSlice(Specification<LessonModel> spec, Pageable pageable) {
+        return pageQueries.findSlice(LessonModel.class, LessonResponseRecordDto.class, spec, pageable);
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<LessonModel> findAllLessonsIntoModule(Specification<LessonModel> spec, Pageable pageable) {
-        return lessonRepository.findAll(spec, pageable);
+    public Page<LessonResponseRecordDto> findAllLessonsIntoModuleEstimated(Specification<LessonModel> spec, Pageable pageable, String countKey) {
+        return pageQueries.findEstimatedPage(LessonModel.class, LessonResponseRecordDto.class, spec, pageable, countKey,
+                () -> lessonRepository.count(spec));
     }
 }
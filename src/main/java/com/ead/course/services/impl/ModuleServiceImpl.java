@@ -1,16 +1,24 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.configs.CacheConfig;
+import com.ead.course.dtos.CursorPageRecordDto;
 import com.ead.course.dtos.ModuleRecordDTO;
+import com.ead.course.dtos.ModuleResponseRecordDto;
 import com.ead.course.exceptions.NotFoundException;
 import com.ead.course.models.CourseModel;
-import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.repositories.LessonRepository;
 import com.ead.course.repositories.ModuleRepository;
 import com.ead.course.services.ModuleService;
+import com.ead.course.services.SearchService;
+import com.ead.course.specifications.KeysetOrder;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,23 +32,33 @@ import java.util.UUID;
 @Service
 public class ModuleServiceImpl implements ModuleService {
 
+    private static final KeysetOrder<ModuleModel, ModuleResponseRecordDto> KEYSET_ORDER = new KeysetOrder<>(
+            "creationDate", ModuleResponseRecordDto::creationDate, "moduleId", ModuleResponseRecordDto::moduleId);
+
     final ModuleRepository moduleRepository;
     final LessonRepository lessonRepository;
+    final PageQueries pageQueries;
+    final SearchService searchService;
 
-    public ModuleServiceImpl(ModuleRepository moduleRepository, LessonRepository lessonRepository) {
+    public ModuleServiceImpl(ModuleRepository moduleRepository, LessonRepository lessonRepository, PageQueries pageQueries,
+                             SearchService searchService) {
 
         this.moduleRepository = moduleRepository;
         this.lessonRepository = lessonRepository;
+        this.pageQueries = pageQueries;
+        this.searchService = searchService;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MODULES_CACHE, key = "'response:' + #moduleModel.course.courseId + ':' + #moduleModel.moduleId"),
+            @CacheEvict(cacheNames = CacheConfig.LESSONS_CACHE, allEntries = true)
+    })
     @Transactional
     @Override
     public void delete(ModuleModel moduleModel) {
-        List<LessonModel> lessonModelList = lessonRepository.findAllLessonsIntoModule(moduleModel.getModuleId());
-        if(!lessonModelList.isEmpty()) {
-            lessonRepository.deleteAll(lessonModelList);
-        }
-        moduleRepository.delete(moduleModel);
+        lessonRepository.deleteLessonsIntoModule(moduleModel.getModuleId());
+        moduleRepository.deleteModule(moduleModel.getModuleId());
+        searchService.removeModule(moduleModel);
     }
 
     @Override
@@ -49,7 +67,9 @@ public class ModuleServiceImpl implements ModuleService {
         BeanUtils.copyProperties(moduleRecordDTO, moduleModel);
         moduleModel.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
         moduleModel.setCourse(courseModel);
-        return moduleRepository.save(moduleModel);
+        moduleModel = moduleRepository.save(moduleModel);
+        searchService.indexModule(moduleModel);
+        return moduleModel;
     }
 
     @Override
@@ -66,10 +86,28 @@ public class ModuleServiceImpl implements ModuleService {
         return moduleModelOptional;
     }
 
+    @Cacheable(cacheNames = CacheConfig.MODULES_CACHE, key = "'response:' + #courseId + ':' + #moduleId")
+    @Transactional(readOnly = true)
     @Override
-   public ModuleModel update(ModuleRecordDTO moduleRecordDTO, ModuleModel moduleModel) {
+    public Optional<ModuleResponseRecordDto> findResponseIntoCourse(UUID courseId, UUID moduleId) {
+        Optional<ModuleResponseRecordDto> moduleOptional = moduleRepository.findByModuleIdAndCourseCourseId(
+                moduleId, courseId, ModuleResponseRecordDto.class);
+        if(moduleOptional.isEmpty()){
+            throw new NotFoundException("Error: module not found for this course");
+        }
+        return moduleOptional;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.MODULES_CACHE, key = "'response:' + #courseId + ':' + #moduleId")
+    @Transactional
+    @Override
+    public ModuleModel update(UUID courseId, UUID moduleId, ModuleRecordDTO moduleRecordDTO) {
+        ModuleModel moduleModel = moduleRepository.findModuleIntoCourse(courseId, moduleId)
+                .orElseThrow(() -> new NotFoundException("Error: module not found for this course"));
         BeanUtils.copyProperties(moduleRecordDTO, moduleModel);
-        return moduleRepository.save(moduleModel);
+        moduleModel = moduleRepository.save(moduleModel);
+        searchService.indexModule(moduleModel);
+        return moduleModel;
     }
 
     @Override
@@ -81,8 +119,28 @@ public class ModuleServiceImpl implements ModuleService {
         return moduleModelOptional;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<ModuleResponseRecordDto> findAllModulesIntoCourse(Specification<ModuleModel> spec, Pageable pageable) {
+        return pageQueries.findPage(ModuleModel.class, ModuleResponseRecordDto.class, spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageRecordDto<ModuleResponseRecordDto> findAllModulesIntoCourse(Specification<ModuleModel> spec, String after, Pageable pageable) {
+        return pageQueries.findCursorPage(ModuleModel.class, ModuleResponseRecordDto.class, KEYSET_ORDER, spec, after, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<ModuleResponseRecordDto> findAllModulesIntoCourseSlice(Specification<ModuleModel> spec, Pageable pageable) {
+        return pageQueries.findSlice(ModuleModel.class, ModuleResponseRecordDto.class, spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
     @Override
-    public Page<ModuleModel> findAllModulesIntoCourse(Specification<ModuleModel> spec, Pageable pageable) {
-        return moduleRepository.findAll(spec, pageable);
+    public Page<ModuleResponseRecordDto> findAllModulesIntoCourseEstimated(Specification<ModuleModel> spec, Pageable pageable, String countKey) {
+        return pageQueries.findEstimatedPage(ModuleModel.class, ModuleResponseRecordDto.class, spec, pageable, countKey,
+                () -> moduleRepository.count(spec));
     }
 }
@@ -0,0 +1,115 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.NotificationRecordCommandDto;
+import com.ead.course.models.NotificationOutboxModel;
+import com.ead.course.publishers.NotificationCommandPublisher;
+import com.ead.course.repositories.NotificationOutboxRepository;
+import com.ead.course.services.NotificationOutboxService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Notification commands are written to {@code tb_notification_outbox} in the enrolling transaction
+ * and published later by the relay, so broker latency and outages never reach the request.
+ * Rows are deleted only once the broker has confirmed the whole batch; a failed batch is retried
+ * with exponential backoff, which makes delivery at-least-once. While the publisher's circuit is
+ * open the relay does not claim any rows, so it neither waits on the broker nor holds row locks.
+ */
+@Service
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+    Logger logger = LogManager.getLogger(NotificationOutboxServiceImpl.class);
+
+    final NotificationOutboxRepository notificationOutboxRepository;
+    final NotificationCommandPublisher notificationCommandPublisher;
+    final TransactionTemplate transactionTemplate;
+    final Duration confirmTimeout;
+    final Duration initialBackoff;
+    final Duration maxBackoff;
+
+    public NotificationOutboxServiceImpl(NotificationOutboxRepository notificationOutboxRepository,
+                                         NotificationCommandPublisher notificationCommandPublisher,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${ead.outbox.confirmTimeout:PT5S}") Duration confirmTimeout,
+                                         @Value("${ead.outbox.initialBackoff:PT1S}") Duration initialBackoff,
+                                         @Value("${ead.outbox.maxBackoff:PT5M}") Duration maxBackoff) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationCommandPublisher = notificationCommandPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.confirmTimeout = confirmTimeout;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void enqueue(List<NotificationRecordCommandDto> notifications) {
+        if (!notifications.isEmpty()) {
+            notificationOutboxRepository.saveNotifications(notifications, LocalDateTime.now(ZoneId.of("UTC")));
+        }
+    }
+
+    @Override
+    public int relay(int batchSize) {
+        if (notificationCommandPublisher.isCircuitOpen()) {
+            return 0;
+        }
+        RelayResult result = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+            List<NotificationOutboxModel> due = notificationOutboxRepository.findDueForUpdate(now, batchSize);
+            if (due.isEmpty()) {
+                return new RelayResult(0, null);
+            }
+            try {
+                notificationCommandPublisher.publishNotificationCommandsConfirmed(due.stream()
+                        .map(outbox -> new NotificationRecordCommandDto(outbox.getTitle(), outbox.getMessage(), outbox.getUserId()))
+                        .toList(), confirmTimeout);
+            } catch (RuntimeException e) {
+                logger.warn("Error relaying {} notification commands, retrying later: {}", due.size(), e.getMessage());
+                due.forEach(outbox -> {
+                    outbox.setAttempts(outbox.getAttempts() + 1);
+                    outbox.setNextAttemptDate(now.plus(backoff(outbox.getAttempts())));
+                });
+                return new RelayResult(0, e);
+            }
+            notificationOutboxRepository.deleteAllInBatch(due);
+            return new RelayResult(due.size(), null);
+        });
+        if (result.failure() != null) {
+            throw result.failure();
+        }
+        return result.relayed();
+    }
+
+    private Duration backoff(int attempts) {
+        if (attempts > 30) {
+            return maxBackoff;
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << (attempts - 1));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    @Override
+    public long countPending() {
+        return notificationOutboxRepository.count();
+    }
+
+    @Override
+    public LocalDateTime findOldestPendingDate() {
+        return notificationOutboxRepository.findOldestCreationDate();
+    }
+
+    private record RelayResult(int relayed, RuntimeException failure) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.configs.CacheConfig;
+import com.ead.course.dtos.CursorPageRecordDto;
+import com.ead.course.specifications.KeysetOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs specification queries that select straight into record projections, so listings never
+ * hydrate or register entities. The record component names must match the entity attributes.
+ */
+@Component
+public class PageQueries {
+
+    final CacheManager cacheManager;
+    final EntityManager entityManager;
+
+    public PageQueries(CacheManager cacheManager, EntityManager entityManager) {
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+    }
+
+    public <T, R extends Record> List<R> findAll(Class<T> domainClass, Class<R> projection, Specification<T> spec,
+                                                 Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(projection);
+        Root<T> root = query.from(domainClass);
+        query.select(cb.construct(projection, Arrays.stream(projection.getRecordComponents())
+                .map(component -> root.get(component.getName()))
+                .toArray(Selection[]::new)));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        typedQuery.setFirstResult(Math.toIntExact(offset));
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    public <T> long count(Class<T> domainClass, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        query.select(cb.count(root));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    public <T, R extends Record> Page<R> findPage(Class<T> domainClass, Class<R> projection, Specification<T> spec,
+                                                  Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<R> content = findAll(domainClass, projection, spec, pageable.getSort(), 0, 0);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        List<R> content = findAll(domainClass, projection, spec, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(domainClass, spec));
+    }
+
+    public <T, R extends Record> CursorPageRecordDto<R> findCursorPage(Class<T> domainClass, Class<R> projection,
+                                                                       KeysetOrder<T, R> keysetOrder,
+                                                                       Specification<T> spec, String after,
+                                                                       Pageable pageable) {
+        int size = keysetOrder.size(pageable);
+        Sort.Direction direction = keysetOrder.direction(pageable);
+        List<R> rows = findAll(domainClass, projection,
+                Specification.where(spec).and(keysetOrder.after(after, direction)),
+                keysetOrder.sort(direction), 0, size + 1);
+        return keysetOrder.toCursorPage(rows, size);
+    }
+
+    public <T, R extends Record> Slice<R> findSlice(Class<T> domainClass, Class<R> projection, Specification<T> spec,
+                                                    Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(domainClass, projection, spec, pageable.getSort(), 0, 0), pageable, false);
+        }
+        List<R> rows = findAll(domainClass, projection, spec, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    public <T, R extends Record> Page<R> findEstimatedPage(Class<T> domainClass, Class<R> projection,
+                                                           Specification<T> spec, Pageable pageable,
+                                                           String countKey, LongSupplier estimatedCount) {
+        return toEstimatedPage(findSlice(domainClass, projection, spec, pageable), pageable, countKey, estimatedCount);
+    }
+
+    public <R> Page<R> toEstimatedPage(Slice<R> slice, Pageable pageable, String countKey, LongSupplier estimatedCount) {
+        long seen = pageable.isPaged() ? pageable.getOffset() + slice.getNumberOfElements() : slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return new PageImpl<>(slice.getContent(), pageable, seen);
+        }
+        Long total = cacheManager.getCache(CacheConfig.PAGE_COUNTS_CACHE)
+                .get(countKey, estimatedCount::getAsLong);
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(total, seen + 1));
+    }
+}
@@ -0,0 +1,314 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.SearchSourceRecordDto;
+import com.ead.course.enums.SearchField;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.services.SearchService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over course names and descriptions and module and lesson titles.
+ * Searches resolve to ranked course ids without touching the database; callers hydrate the page.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    Logger logger = LogManager.getLogger(SearchServiceImpl.class);
+    final CourseRepository courseRepository;
+    final ModuleRepository moduleRepository;
+    final LessonRepository lessonRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private CatalogIndex index = new CatalogIndex();
+    private List<Consumer<CatalogIndex>> pendingMutations;
+
+    public SearchServiceImpl(CourseRepository courseRepository, ModuleRepository moduleRepository,
+                             LessonRepository lessonRepository) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.lessonRepository = lessonRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingMutations = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        var fresh = new CatalogIndex();
+        try {
+            courseRepository.findAllNameSearchSources().forEach(source -> fresh.put(SearchField.COURSE_NAME, source));
+            courseRepository.findAllDescriptionSearchSources().forEach(source -> fresh.put(SearchField.COURSE_DESCRIPTION, source));
+            moduleRepository.findAllSearchSources().forEach(source -> fresh.put(SearchField.MODULE_TITLE, source));
+            lessonRepository.findAllSearchSources().forEach(source -> fresh.put(SearchField.LESSON_TITLE, source));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingMutations = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingMutations.forEach(mutation -> mutation.accept(fresh));
+            pendingMutations = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Search index built with {} terms over {} courses", fresh.termCount(), fresh.courseCount());
+    }
+
+    @Override
+    public Page<UUID> searchCourseIds(String query, Pageable pageable) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<UUID> ranked;
+        lock.readLock().lock();
+        try {
+            ranked = index.search(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ranked, pageable, ranked.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, ranked.size());
+    }
+
+    @Override
+    public void indexCourse(CourseModel courseModel) {
+        var name = new SearchSourceRecordDto(courseModel.getCourseId(), courseModel.getName());
+        var description = new SearchSourceRecordDto(courseModel.getCourseId(), courseModel.getDescription());
+        afterCommit(index -> {
+            index.put(SearchField.COURSE_NAME, name);
+            index.put(SearchField.COURSE_DESCRIPTION, description);
+        });
+    }
+
+    @Override
+    public void removeCourse(UUID courseId) {
+        afterCommit(index -> index.removeCourse(courseId));
+    }
+
+    @Override
+    public void indexModule(ModuleModel moduleModel) {
+        var source = new SearchSourceRecordDto(moduleModel.getCourse().getCourseId(),
+                moduleModel.getModuleId(), moduleModel.getModuleId(), moduleModel.getTitle());
+        afterCommit(index -> index.put(SearchField.MODULE_TITLE, source));
+    }
+
+    @Override
+    public void removeModule(ModuleModel moduleModel) {
+        UUID moduleId = moduleModel.getModuleId();
+        afterCommit(index -> index.removeModule(moduleId));
+    }
+
+    @Override
+    public void indexLesson(LessonModel lessonModel) {
+        UUID moduleId = lessonModel.getModule().getModuleId();
+        UUID lessonId = lessonModel.getLessonId();
+        String title = lessonModel.getTitle();
+        afterCommit(index -> {
+            UUID courseId = index.courseOfModule(moduleId);
+            if (courseId != null) {
+                index.put(SearchField.LESSON_TITLE, new SearchSourceRecordDto(courseId, moduleId, lessonId, title));
+            }
+        });
+    }
+
+    @Override
+    public void removeLesson(LessonModel lessonModel) {
+        UUID lessonId = lessonModel.getLessonId();
+        afterCommit(index -> index.remove(new SourceKey(SearchField.LESSON_TITLE, lessonId)));
+    }
+
+    private void afterCommit(Consumer<CatalogIndex> mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private void apply(Consumer<CatalogIndex> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(index);
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(folded.toLowerCase(Locale.ROOT)))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .toList();
+    }
+
+    private record SourceKey(SearchField field, UUID sourceId) {
+    }
+
+    private record Source(UUID courseId, UUID moduleId, Set<String> tokens) {
+    }
+
+    private static final class CatalogIndex {
+
+        private final NavigableMap<String, Set<SourceKey>> postings = new TreeMap<>();
+        private final Map<SourceKey, Source> sources = new HashMap<>();
+        private final Map<UUID, Set<SourceKey>> sourcesByCourse = new HashMap<>();
+
+        void put(SearchField field, SearchSourceRecordDto record) {
+            var key = new SourceKey(field, record.sourceId());
+            remove(key);
+            var source = new Source(record.courseId(), record.moduleId(), Set.copyOf(tokenize(record.text())));
+            sources.put(key, source);
+            sourcesByCourse.computeIfAbsent(source.courseId(), id -> new HashSet<>()).add(key);
+            source.tokens().forEach(token -> postings.computeIfAbsent(token, t -> new HashSet<>()).add(key));
+        }
+
+        void remove(SourceKey key) {
+            Source source = sources.remove(key);
+            if (source == null) {
+                return;
+            }
+            for (String token : source.tokens()) {
+                Set<SourceKey> keys = postings.get(token);
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+            Set<SourceKey> courseKeys = sourcesByCourse.get(source.courseId());
+            courseKeys.remove(key);
+            if (courseKeys.isEmpty()) {
+                sourcesByCourse.remove(source.courseId());
+            }
+        }
+
+        void removeCourse(UUID courseId) {
+            Set<SourceKey> keys = sourcesByCourse.get(courseId);
+            if (keys != null) {
+                List.copyOf(keys).forEach(this::remove);
+            }
+        }
+
+        void removeModule(UUID moduleId) {
+            UUID courseId = courseOfModule(moduleId);
+            if (courseId == null) {
+                return;
+            }
+            List.copyOf(sourcesByCourse.get(courseId)).stream()
+                    .filter(key -> moduleId.equals(sources.get(key).moduleId()))
+                    .forEach(this::remove);
+        }
+
+        UUID courseOfModule(UUID moduleId) {
+            Source module = sources.get(new SourceKey(SearchField.MODULE_TITLE, moduleId));
+            return module != null ? module.courseId() : null;
+        }
+
+        List<UUID> search(List<String> terms) {
+            Map<UUID, Double> scores = null;
+            for (String term : terms) {
+                Map<UUID, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((courseId, score) -> score + termScores.get(courseId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        private Map<UUID, Double> scoreTerm(String term) {
+            Map<UUID, Double> best = new HashMap<>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, false).forEach((token, keys) -> {
+                double factor = token.equals(term) ? 1.0 : PREFIX_MATCH_FACTOR;
+                for (SourceKey key : keys) {
+                    best.merge(sources.get(key).courseId(), key.field().getWeight() * factor, Math::max);
+                }
+            });
+            return best;
+        }
+
+        int termCount() {
+            return postings.size();
+        }
+
+        int courseCount() {
+            return sourcesByCourse.size();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.models.UserEventFingerprintModel;
+import com.ead.course.repositories.UserEventFingerprintRepository;
+import com.ead.course.services.UserEventDeduplicationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per user, the fingerprint of the last applied event for a time window, so a
+ * redelivered copy of it skips the database. Only the last event per user is compared: an older
+ * state sent again on purpose (A, B, A) is still applied. Fingerprints are written behind to
+ * {@code tb_user_event_fingerprints}, which is consulted only until the in-memory window has
+ * been refilled after a restart. Losing an unflushed fingerprint only costs one idempotent rewrite.
+ */
+@Service
+public class UserEventDeduplicationServiceImpl implements UserEventDeduplicationService {
+
+    private static final char SEPARATOR = '\u0000';
+
+    Logger logger = LogManager.getLogger(UserEventDeduplicationServiceImpl.class);
+
+    final UserEventFingerprintRepository userEventFingerprintRepository;
+    final TransactionTemplate transactionTemplate;
+    final Duration window;
+
+    private final Cache<UUID, String> lastApplied;
+    private final Map<UUID, UserEventFingerprintModel> pendingFingerprints = new ConcurrentHashMap<>();
+    private final LocalDateTime coldUntil;
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public UserEventDeduplicationServiceImpl(UserEventFingerprintRepository userEventFingerprintRepository,
+                                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                             @Value("${ead.broker.queue.userEventQueue.dedup.window:PT1H}") Duration window,
+                                             @Value("${ead.broker.queue.userEventQueue.dedup.maximumSize:100000}") long maximumSize) {
+        this.userEventFingerprintRepository = userEventFingerprintRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.window = window;
+        this.lastApplied = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+        this.coldUntil = now().plus(window);
+        this.memoryHits = meterRegistry.counter("ead.course.user.events.dedup.hits", "source", "memory");
+        this.databaseHits = meterRegistry.counter("ead.course.user.events.dedup.hits", "source", "database");
+        this.misses = meterRegistry.counter("ead.course.user.events.dedup.misses");
+    }
+
+    @Override
+    public boolean isDuplicate(UserEventRecordDto userEvent) {
+        String fingerprint = fingerprint(userEvent);
+        String applied = lastApplied.getIfPresent(userEvent.userId());
+        if (applied != null) {
+            if (applied.equals(fingerprint)) {
+                memoryHits.increment();
+                return true;
+            }
+        } else if (now().isBefore(coldUntil) && isPersisted(userEvent.userId(), fingerprint)) {
+            lastApplied.put(userEvent.userId(), fingerprint);
+            databaseHits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    private boolean isPersisted(UUID userId, String fingerprint) {
+        UserEventFingerprintModel pending = pendingFingerprints.get(userId);
+        if (pending != null) {
+            return pending.getFingerprint().equals(fingerprint);
+        }
+        return userEventFingerprintRepository.findById(userId)
+                .filter(persisted -> persisted.getProcessedDate().isAfter(now().minus(window)))
+                .map(persisted -> persisted.getFingerprint().equals(fingerprint))
+                .orElse(false);
+    }
+
+    @Override
+    public void markApplied(Collection<UserEventRecordDto> userEvents) {
+        LocalDateTime processedDate = now();
+        for (UserEventRecordDto userEvent : userEvents) {
+            String fingerprint = fingerprint(userEvent);
+            lastApplied.put(userEvent.userId(), fingerprint);
+            var model = new UserEventFingerprintModel();
+            model.setUserId(userEvent.userId());
+            model.setFingerprint(fingerprint);
+            model.setProcessedDate(processedDate);
+            pendingFingerprints.put(userEvent.userId(), model);
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void flush() {
+        List<UserEventFingerprintModel> flushing = new ArrayList<>();
+        pendingFingerprints.forEach((userId, fingerprint) -> {
+            if (pendingFingerprints.remove(userId, fingerprint)) {
+                flushing.add(fingerprint);
+            }
+        });
+        if (flushing.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> userEventFingerprintRepository.upsertFingerprints(flushing));
+        } catch (RuntimeException e) {
+            logger.warn("Error persisting {} user event fingerprints: {}", flushing.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public int expire() {
+        return transactionTemplate.execute(status -> userEventFingerprintRepository.deleteProcessedBefore(now().minus(window)));
+    }
+
+    static String fingerprint(UserEventRecordDto userEvent) {
+        String payload = String.join(String.valueOf(SEPARATOR),
+                String.valueOf(userEvent.userId()), String.valueOf(userEvent.actionType()),
+                Objects.toString(userEvent.userName(), ""), Objects.toString(userEvent.email(), ""),
+                Objects.toString(userEvent.fullName(), ""), Objects.toString(userEvent.userStatus(), ""),
+                Objects.toString(userEvent.userType(), ""), Objects.toString(userEvent.phoneNumber(), ""),
+                Objects.toString(userEvent.imageUrl(), ""));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
+    }
+}
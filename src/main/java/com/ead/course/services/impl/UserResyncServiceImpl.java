@@ -0,0 +1,231 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.ResponsePageDto;
+import com.ead.course.dtos.UserRecordDto;
+import com.ead.course.dtos.UserResyncStatusRecordDto;
+import com.ead.course.models.UserResyncCheckpointModel;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.repositories.UserResyncCheckpointRepository;
+import com.ead.course.services.UserResyncService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies every user of the authuser service into {@code tb_users}, page by page in user id order.
+ * The next page is fetched while the current one is written, and each page is upserted in the
+ * same transaction that advances the checkpoint.
+ * <p>
+ * The authuser API only offers offset paging, so pages drift when users are created or deleted
+ * during a resync. The checkpoint keeps the last written user id and only users after it are
+ * written, which drops rows that shifted forward. When the total shrinks, rows may have shifted
+ * back past the cursor, so the boundary page is read again. A resumed resync also starts by
+ * re-reading the last written page. Filtering by the cursor relies on {@link #USER_ID_ORDER}
+ * matching the order authuser pages in.
+ * <p>
+ * The resync only upserts: users deleted in authuser are not removed here, they are removed by
+ * their {@code DELETE} user events. Sweeping every user the resync did not see is unsafe while
+ * offset paging can skip users, since the sweep would delete live users and their enrollments.
+ */
+@Service
+public class UserResyncServiceImpl implements UserResyncService {
+
+    static final String RESYNC_NAME = "authuser-users";
+
+    /**
+     * Order of PostgreSQL's uuid type, which authuser sorts by: unsigned comparison of the 16 bytes,
+     * whereas {@link UUID#compareTo} compares the two halves as signed longs.
+     */
+    static final Comparator<UUID> USER_ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    Logger logger = LogManager.getLogger(UserResyncServiceImpl.class);
+
+    final AuthUserClient authUserClient;
+    final UserRepository userRepository;
+    final UserResyncCheckpointRepository userResyncCheckpointRepository;
+    final TransactionTemplate transactionTemplate;
+    final int pageSize;
+
+    private final ExecutorService resyncExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "user-resync"));
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "user-resync-prefetch"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger nextPage = new AtomicInteger();
+    private final AtomicInteger totalPages = new AtomicInteger();
+    private final Counter syncedUsers;
+    private final Timer pageFetch;
+
+    public UserResyncServiceImpl(AuthUserClient authUserClient, UserRepository userRepository,
+                                 UserResyncCheckpointRepository userResyncCheckpointRepository,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${ead.user.resync.pageSize:500}") int pageSize) {
+        this.authUserClient = authUserClient;
+        this.userRepository = userRepository;
+        this.userResyncCheckpointRepository = userResyncCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        meterRegistry.gauge("ead.course.user.resync.next.page", nextPage);
+        meterRegistry.gauge("ead.course.user.resync.total.pages", totalPages);
+        meterRegistry.gauge("ead.course.user.resync.running", running, flag -> flag.get() ? 1 : 0);
+        this.syncedUsers = meterRegistry.counter("ead.course.user.resync.users");
+        this.pageFetch = meterRegistry.timer("ead.course.user.resync.page.fetch");
+    }
+
+    @Override
+    public boolean start(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        resyncExecutor.execute(() -> {
+            try {
+                run(restart);
+            } catch (RuntimeException e) {
+                logger.error("User resync stopped at page {}: {}", nextPage.get(), e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public UserResyncStatusRecordDto getStatus() {
+        // read the flag first, so a stopped status never carries a checkpoint from before the last write
+        boolean active = running.get();
+        return userResyncCheckpointRepository.findById(RESYNC_NAME)
+                .map(checkpoint -> new UserResyncStatusRecordDto(active, checkpoint.getNextPage(),
+                        checkpoint.getTotalPages(), checkpoint.getLastUserId(), checkpoint.getSyncedUsers(),
+                        checkpoint.getStartedDate(), checkpoint.getUpdatedDate(), checkpoint.getCompletedDate()))
+                .orElseGet(() -> new UserResyncStatusRecordDto(active, null, null, null, null, null, null, null));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        resyncExecutor.shutdownNow();
+        prefetchExecutor.shutdownNow();
+    }
+
+    private void run(boolean restart) {
+        UserResyncCheckpointModel checkpoint = userResyncCheckpointRepository.findById(RESYNC_NAME)
+                .filter(existing -> !restart && existing.getCompletedDate() == null && existing.getPageSize() == pageSize)
+                .orElseGet(this::newCheckpoint);
+        int page = checkpoint.getLastUserId() == null ? checkpoint.getNextPage() : checkpoint.getNextPage() - 1;
+        logger.info("User resync starting at page {} with page size {}", page, pageSize);
+        CompletableFuture<ResponsePageDto<UserRecordDto>> next = fetch(page);
+        Long knownTotal = null;
+        try {
+            while (true) {
+                ResponsePageDto<UserRecordDto> current = join(next);
+                if (knownTotal != null && current.getTotalElements() < knownTotal) {
+                    int shift = (int) ((knownTotal - current.getTotalElements() + pageSize - 1) / pageSize);
+                    page = Math.max(0, page - shift);
+                    logger.debug("Users were removed during the resync, re-reading from page {}", page);
+                    knownTotal = current.getTotalElements();
+                    next = fetch(page);
+                    continue;
+                }
+                knownTotal = current.getTotalElements();
+                boolean last = current.isLast() || current.isEmpty();
+                if (!last) {
+                    next = fetch(page + 1);
+                }
+                checkpoint = write(checkpoint, page, current, last);
+                if (last) {
+                    logger.info("User resync completed with {} users", checkpoint.getSyncedUsers());
+                    return;
+                }
+                page++;
+            }
+        } finally {
+            awaitPrefetch();
+        }
+    }
+
+    /** A failed page write leaves the next page in flight; the resync only counts as stopped once it is done. */
+    private void awaitPrefetch() {
+        try {
+            prefetchExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            logger.debug("User resync prefetch did not drain: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<ResponsePageDto<UserRecordDto>> fetch(int page) {
+        return CompletableFuture.supplyAsync(
+                () -> pageFetch.record(() -> authUserClient.getAllUsers(page, pageSize)), prefetchExecutor);
+    }
+
+    private UserResyncCheckpointModel write(UserResyncCheckpointModel checkpoint, int pageNumber,
+                                            ResponsePageDto<UserRecordDto> page, boolean last) {
+        UUID lastUserId = checkpoint.getLastUserId();
+        List<UserRecordDto> users = page.getContent().stream()
+                .filter(user -> lastUserId == null || USER_ID_ORDER.compare(user.userId(), lastUserId) > 0)
+                .toList();
+        UserResyncCheckpointModel saved = transactionTemplate.execute(status -> {
+            if (!users.isEmpty()) {
+                userRepository.upsertUsers(users.stream().map(UserRecordDto::toUserModel).toList());
+                checkpoint.setLastUserId(users.get(users.size() - 1).userId());
+            }
+            var now = LocalDateTime.now(ZoneId.of("UTC"));
+            checkpoint.setNextPage(pageNumber + 1);
+            checkpoint.setTotalPages(page.getTotalPages());
+            checkpoint.setSyncedUsers(checkpoint.getSyncedUsers() + users.size());
+            checkpoint.setUpdatedDate(now);
+            if (last) {
+                checkpoint.setCompletedDate(now);
+            }
+            return userResyncCheckpointRepository.save(checkpoint);
+        });
+        syncedUsers.increment(users.size());
+        nextPage.set(saved.getNextPage());
+        totalPages.set(page.getTotalPages());
+        return saved;
+    }
+
+    private UserResyncCheckpointModel newCheckpoint() {
+        var checkpoint = new UserResyncCheckpointModel();
+        checkpoint.setResyncName(RESYNC_NAME);
+        checkpoint.setPageSize(pageSize);
+        checkpoint.setStartedDate(LocalDateTime.now(ZoneId.of("UTC")));
+        checkpoint.setUpdatedDate(checkpoint.getStartedDate());
+        return checkpoint;
+    }
+
+    private static ResponsePageDto<UserRecordDto> join(CompletableFuture<ResponsePageDto<UserRecordDto>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,33 +1,87 @@
 package com.ead.course.services.impl;
 
+import com.ead.course.dtos.CursorPageRecordDto;
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.enums.ActionType;
+import com.ead.course.dtos.UserResponseRecordDto;
 import com.ead.course.exceptions.NotFoundException;
 import com.ead.course.models.UserModel;
 import com.ead.course.repositories.CourseRepository;
 import com.ead.course.repositories.UserRepository;
 import com.ead.course.services.UserService;
+import com.ead.course.specifications.KeysetOrder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final KeysetOrder<UserModel, UserResponseRecordDto> KEYSET_ORDER = new KeysetOrder<>(
+            "userId", UserResponseRecordDto::userId, "userId", UserResponseRecordDto::userId);
+
     final UserRepository userRepository;
     final CourseRepository courseRepository;
+    final PageQueries pageQueries;
 
-    public UserServiceImpl(UserRepository userRepository, CourseRepository courseRepository) {
+    public UserServiceImpl(UserRepository userRepository, CourseRepository courseRepository, PageQueries pageQueries) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
+        this.pageQueries = pageQueries;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<UserResponseRecordDto> findRoster(UUID courseId, RosterFilterRecordDto filter, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<UserResponseRecordDto> content = courseRepository.findRoster(courseId, filter, null, 0, Integer.MAX_VALUE);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        List<UserResponseRecordDto> content = courseRepository.findRoster(courseId, filter, null,
+                pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> courseRepository.countRoster(courseId, filter));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageRecordDto<UserResponseRecordDto> findRoster(UUID courseId, RosterFilterRecordDto filter,
+                                                                 String after, Pageable pageable) {
+        int size = KEYSET_ORDER.size(pageable);
+        return KEYSET_ORDER.toCursorPage(
+                courseRepository.findRoster(courseId, filter, KEYSET_ORDER.afterId(after), 0, size + 1), size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserResponseRecordDto> findRosterSlice(UUID courseId, RosterFilterRecordDto filter, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(courseRepository.findRoster(courseId, filter, null, 0, Integer.MAX_VALUE),
+                    pageable, false);
+        }
+        List<UserResponseRecordDto> rows = courseRepository.findRoster(courseId, filter, null,
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<UserModel> findAll(Specification<UserModel> spec, Pageable pageable) {
-        return userRepository.findAll(spec, pageable);
+    public Page<UserResponseRecordDto> findRosterEstimated(UUID courseId, RosterFilterRecordDto filter,
+                                                           Pageable pageable, String countKey) {
+        return pageQueries.toEstimatedPage(findRosterSlice(courseId, filter, pageable), pageable, countKey,
+                () -> courseRepository.countRoster(courseId, filter));
     }
 
     @Override
@@ -42,6 +96,33 @@ public class UserServiceImpl implements UserService {
         userRepository.deleteById(userId);
     }
 
+    @Transactional
+    @Override
+    public void replicate(UserEventRecordDto userEvent) {
+        userRepository.upsertUser(userEvent.userId(), userEvent.email(), userEvent.fullName(),
+                userEvent.userStatus(), userEvent.userType(), userEvent.imageUrl());
+    }
+
+    @Transactional
+    @Override
+    public void applyEvents(Collection<UserEventRecordDto> userEvents) {
+        List<UserModel> upserts = new ArrayList<>();
+        List<UUID> deletes = new ArrayList<>();
+        for (UserEventRecordDto userEvent : userEvents) {
+            switch (ActionType.valueOf(userEvent.actionType())) {
+                case CREATE, UPDATE -> upserts.add(userEvent.toUserModel());
+                case DELETE -> deletes.add(userEvent.userId());
+            }
+        }
+        if (!upserts.isEmpty()) {
+            userRepository.upsertUsers(upserts);
+        }
+        if (!deletes.isEmpty()) {
+            courseRepository.deleteCourseUserByUsers(deletes);
+            userRepository.deleteUsers(deletes);
+        }
+    }
+
     @Override
     public Optional<UserModel> findById(UUID userId) {
         Optional<UserModel> userModelOptional = userRepository.findById(userId);
@@ -0,0 +1,127 @@
+package com.ead.course.specifications;
+
+import com.ead.course.dtos.CursorPageRecordDto;
+import com.ead.course.exceptions.InvalidCursorException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Seek-based ordering over the entity {@code T}, emitting cursors from the rows {@code R} it is read into.
+ */
+public class KeysetOrder<T, R> {
+
+    private static final String SEPARATOR = "|";
+    private static final int DEFAULT_SIZE = 10;
+
+    private final String keyProperty;
+    private final Function<R, ?> keyExtractor;
+    private final String idProperty;
+    private final Function<R, UUID> idExtractor;
+
+    public KeysetOrder(String keyProperty, Function<R, ?> keyExtractor,
+                       String idProperty, Function<R, UUID> idExtractor) {
+        this.keyProperty = keyProperty;
+        this.keyExtractor = keyExtractor;
+        this.idProperty = idProperty;
+        this.idExtractor = idExtractor;
+    }
+
+    public int size(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getPageSize() : DEFAULT_SIZE;
+    }
+
+    public CursorPageRecordDto<R> toCursorPage(List<R> rows, int size) {
+        if (rows.size() <= size) {
+            return new CursorPageRecordDto<>(rows, size, null);
+        }
+        List<R> content = rows.subList(0, size);
+        return new CursorPageRecordDto<>(content, size, cursorOf(content.get(size - 1)));
+    }
+
+    public Sort.Direction direction(Pageable pageable) {
+        Sort.Order order = pageable.getSort().getOrderFor(keyProperty);
+        return order != null ? order.getDirection() : Sort.Direction.ASC;
+    }
+
+    public Sort sort(Sort.Direction direction) {
+        if (keyProperty.equals(idProperty)) {
+            return Sort.by(direction, idProperty);
+        }
+        return Sort.by(direction, keyProperty).and(Sort.by(direction, idProperty));
+    }
+
+    public Specification<T> after(String cursor, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decode(cursor);
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> id = root.get(idProperty);
+            Comparable<Object> idValue = parse(id.getJavaType(), parts[1]);
+            if (keyProperty.equals(idProperty)) {
+                return greaterThan(cb, id, idValue, direction);
+            }
+            Path<Comparable<Object>> key = root.get(keyProperty);
+            Comparable<Object> keyValue = parse(key.getJavaType(), parts[0]);
+            return cb.or(
+                    greaterThan(cb, key, keyValue, direction),
+                    cb.and(cb.equal(key, keyValue), greaterThan(cb, id, idValue, direction)));
+        };
+    }
+
+    public UUID afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        return (UUID) (Comparable<?>) parse(UUID.class, decode(cursor)[1]);
+    }
+
+    public String cursorOf(R row) {
+        String raw = keyExtractor.apply(row) + SEPARATOR + idExtractor.apply(row);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Predicate greaterThan(CriteriaBuilder cb, Path<Comparable<Object>> path,
+                                         Comparable<Object> value, Sort.Direction direction) {
+        return direction.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Error: invalid cursor");
+            }
+            return new String[]{raw.substring(0, separator), raw.substring(separator + 1)};
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Error: invalid cursor");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parse(Class<?> type, String value) {
+        try {
+            if (UUID.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) UUID.fromString(value);
+            }
+            if (LocalDateTime.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) LocalDateTime.parse(value);
+            }
+            return (Comparable<Object>) (Comparable<?>) value;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Error: invalid cursor");
+        }
+    }
+}
@@ -4,8 +4,8 @@ import com.ead.course.models.CourseModel;
 import com.ead.course.models.LessonModel;
 import com.ead.course.models.ModuleModel;
 import com.ead.course.models.UserModel;
-import jakarta.persistence.criteria.Expression;
-import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Join;
+import jakarta.servlet.http.HttpServletRequest;
 import net.kaczmarzyk.spring.data.jpa.domain.Equal;
 import net.kaczmarzyk.spring.data.jpa.domain.Like;
 import net.kaczmarzyk.spring.data.jpa.domain.LikeIgnoreCase;
@@ -13,11 +13,14 @@ import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.Collection;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 public class SpecificationTemplate {
 
+    private static final Set<String> PAGING_PARAMETERS = Set.of("page", "size", "sort", "count", "after");
+
     @And({
             @Spec(path="courseLevel", spec = Equal.class),
             @Spec(path="courseStatus", spec = Equal.class),
@@ -40,43 +43,35 @@ public class SpecificationTemplate {
     })
     public interface UserSpec extends Specification<UserModel> {}
 
+    public static String specKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            if (!PAGING_PARAMETERS.contains(name)) {
+                key.append('&').append(name).append('=').append(String.join(",", values));
+            }
+        });
+        return key.toString();
+    }
+
     public static Specification<ModuleModel> moduleCourseId(final UUID courseId) {
-        return (root, query, cb) -> {
-            query.distinct(true);
-            Root<ModuleModel> module = root;
-            Root<CourseModel> course = query.from(CourseModel.class);
-            Expression<Collection<ModuleModel>> courseModules = course.get("modules");
-            return cb.and(cb.equal(course.get("courseId"), courseId), cb.isMember(module, courseModules));
-        };
+        return (root, query, cb) -> cb.equal(root.get("course").get("courseId"), courseId);
     }
 
     public static Specification<LessonModel> lessonModuleId(final UUID moduleId) {
-        return (root, query, cb) -> {
-            query.distinct(true);
-            Root<LessonModel> lesson = root;
-            Root<ModuleModel> module = query.from(ModuleModel.class);
-            Expression<Collection<LessonModel>> moduleLessons = module.get("lessons");
-            return cb.and(cb.equal(module.get("moduleId"), moduleId), cb.isMember(lesson, moduleLessons));
-        };
+        return (root, query, cb) -> cb.equal(root.get("module").get("moduleId"), moduleId);
     }
 
     public static Specification<CourseModel> courseUserId(final UUID userId) {
         return (root, query, cb) -> {
-            query.distinct(true);
-            Root<CourseModel> course = root;
-            Root<UserModel> user = query.from(UserModel.class);
-            Expression<Collection<CourseModel>> userCourses = user.get("courses");
-            return cb.and(cb.equal(user.get("userId"), userId), cb.isMember(course, userCourses));
+            Join<CourseModel, UserModel> courseUsers = root.join("users");
+            return cb.equal(courseUsers.get("userId"), userId);
         };
     }
 
     public static Specification<UserModel> userCourseId(final UUID courseId) {
         return (root, query, cb) -> {
-            query.distinct(true);
-            Root<UserModel> user = root;
-            Root<CourseModel> course = query.from(CourseModel.class);
-            Expression<Collection<UserModel>> courseUsers = user.get("users");
-            return cb.and(cb.equal(user.get("courseId"), courseId), cb.isMember(user, courseUsers));
+            Join<UserModel, CourseModel> userCourses = root.join("users");
+            return cb.equal(userCourses.get("courseId"), courseId);
         };
     }
 
@@ -1,6 +1,7 @@
 package com.ead.course.validations;
 
 import com.ead.course.configs.security.AuthenticationCurrentUserService;
+import com.ead.course.configs.security.AuthorityRegistry;
 import com.ead.course.configs.security.UserDetailsImpl;
 import com.ead.course.dtos.CourseRecordDTO;
 import com.ead.course.enums.UserType;
@@ -11,7 +12,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
@@ -61,7 +61,7 @@ public class CourseValidator implements Validator {
 
     private void validateUserInstructor(UUID userInstructor, Errors errors){
         UserDetailsImpl userDetails = authenticationCurrentUserService.getCurrentUser();
-        if(userDetails.getUserId().equals(userInstructor) || userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
+        if(userDetails.getUserId().equals(userInstructor) || userDetails.getAuthorities().contains(AuthorityRegistry.ROLE_ADMIN)) {
             Optional<UserModel> userModelOptional = userService.findById(userInstructor);
             if (userModelOptional.get().getUserType().equals(UserType.STUDENT.toString()) ||
                     userModelOptional.get().getUserType().equals(UserType.USER.toString())) {
@@ -0,0 +1,47 @@
+package com.ead.course.configs.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingConfigTests {
+
+    final MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "40")
+            .withProperty("spring.datasource.hikari.connection-timeout", "20000")
+            .withProperty("spring.datasource.hikari.pool-name", "ignored")
+            .withProperty("ead.datasource.replicas.hikari.maximum-pool-size", "60");
+
+    @Test
+    void primaryPoolIsBoundToTheSpringHikariSettings() {
+        try (HikariDataSource primary = ReplicaRoutingConfig.primaryPool(dataSourceProperties(), Binder.get(environment))) {
+            assertThat(primary.getMaximumPoolSize()).isEqualTo(40);
+            assertThat(primary.getConnectionTimeout()).isEqualTo(20000);
+            assertThat(primary.getPoolName()).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    void replicaPoolFailsFastAndTakesItsOwnOverrides() {
+        try (HikariDataSource replica = ReplicaRoutingConfig.replicaPool(dataSourceProperties(), Binder.get(environment),
+                "jdbc:h2:mem:replica", 0, Duration.ofMillis(500))) {
+            assertThat(replica.getJdbcUrl()).isEqualTo("jdbc:h2:mem:replica");
+            assertThat(replica.getMaximumPoolSize()).isEqualTo(60);
+            assertThat(replica.getConnectionTimeout()).isEqualTo(500);
+            assertThat(replica.getPoolName()).isEqualTo("replica-0");
+            assertThat(replica.isReadOnly()).isTrue();
+        }
+    }
+
+    private static DataSourceProperties dataSourceProperties() {
+        var dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:h2:mem:primary");
+        return dataSourceProperties;
+    }
+}
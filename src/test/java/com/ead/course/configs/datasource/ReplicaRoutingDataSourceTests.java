@@ -0,0 +1,172 @@
+package com.ead.course.configs.datasource;
+
+import com.ead.course.configs.security.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final AtomicReference<String> requester = new AtomicReference<>();
+
+    SwitchableDataSource replica;
+    ReplicaRoutingDataSource routingDataSource;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        replica = new SwitchableDataSource(database("replica"));
+        routingDataSource = new ReplicaRoutingDataSource(database("primary"), List.of(replica), requester::get,
+                Duration.ofMinutes(1), null, meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToTheReplica() {
+        assertThat(readOnlyServer()).isEqualTo("replica");
+        assertThat(readWriteServer()).isEqualTo("primary");
+        assertThat(server()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsOwnWritesFromThePrimaryWithinTheStickinessWindow() {
+        requester.set("instructor");
+        readWriteServer();
+
+        assertThat(readOnlyServer()).isEqualTo("primary");
+        requester.set("student");
+        assertThat(readOnlyServer()).isEqualTo("replica");
+        assertThat(meterRegistry.get("ead.course.datasource.routes").tag("target", "sticky").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void failsOverToThePrimaryUntilTheReplicaIsHealthyAgain() {
+        replica.down = true;
+
+        assertThat(readOnlyServer()).isEqualTo("primary");
+        replica.down = false;
+        assertThat(readOnlyServer()).isEqualTo("primary");
+        assertThat(meterRegistry.get("ead.course.datasource.replicas.healthy").gauge().value()).isZero();
+
+        routingDataSource.checkReplicas();
+
+        assertThat(readOnlyServer()).isEqualTo("replica");
+        assertThat(meterRegistry.get("ead.course.datasource.failovers").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void updateFlowOfAMutatingRequestReadsFromThePrimaryDespiteReplicaLag() throws Exception {
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("insert into tb_course (course_id, name) values (1, 'Spring Boot')"));
+        assertThat(readOnlyCourseName()).isNull();
+
+        new PrimaryPinningFilter().doFilter(new MockHttpServletRequest("PUT", "/courses/1"),
+                new MockHttpServletResponse(), (request, response) -> {
+                    assertThat(readOnlyCourseName()).isEqualTo("Spring Boot");
+                    readWrite.executeWithoutResult(status ->
+                            jdbcTemplate.update("update tb_course set name = 'Spring Boot 3' where course_id = 1"));
+                    assertThat(readOnlyCourseName()).isEqualTo("Spring Boot 3");
+                });
+        new PrimaryPinningFilter().doFilter(new MockHttpServletRequest("GET", "/courses/1"),
+                new MockHttpServletResponse(), (request, response) -> assertThat(readOnlyCourseName()).isNull());
+
+        assertThat(readOnlyCourseName()).isNull();
+        assertThat(meterRegistry.get("ead.course.datasource.routes").tag("target", "pinned").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void keysStickinessByTheAuthenticatedUserId() {
+        UUID userId = UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new UserDetailsImpl(userId, List.of()), null, List.of()));
+
+        assertThat(ReplicaRoutingConfig.currentRequester()).isEqualTo(userId.toString());
+    }
+
+    private String readOnlyCourseName() {
+        return readOnly.execute(status -> jdbcTemplate.queryForList(
+                "select name from tb_course where course_id = 1", String.class).stream().findFirst().orElse(null));
+    }
+
+    private String readOnlyServer() {
+        return readOnly.execute(status -> server());
+    }
+
+    private String readWriteServer() {
+        return readWrite.execute(status -> server());
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from tb_server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists tb_server (name varchar(20))");
+        jdbcTemplate.execute("create table if not exists tb_course (course_id int primary key, name varchar(50))");
+        jdbcTemplate.update("delete from tb_course");
+        jdbcTemplate.update("delete from tb_server");
+        jdbcTemplate.update("insert into tb_server (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends AbstractDataSource {
+
+        private final DataSource target;
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return target.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ead.course.configs.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtProviderTests {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGhlLWNvdXJzZS1zZXJ2aWNlLXRlc3Rz";
+
+    final MutableClock clock = new MutableClock(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+    JwtProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = new JwtProvider(clock);
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "jwtCacheMaximumSize", 100L);
+        jwtProvider.init();
+    }
+
+    @Test
+    void verifiesATokenOnceAndServesRepeatsFromTheCache() {
+        UUID userId = UUID.randomUUID();
+        String token = token(userId, clock.instant().plus(1, ChronoUnit.HOURS));
+
+        var first = jwtProvider.getVerifiedJwt(token);
+        JwtParser failingParser = mock(JwtParser.class);
+        when(failingParser.parseSignedClaims(anyString())).thenThrow(new IllegalArgumentException("parsed again"));
+        ReflectionTestUtils.setField(jwtProvider, "jwtParser", failingParser);
+        var second = jwtProvider.getVerifiedJwt(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().userId()).isEqualTo(userId);
+        assertThat(first.get().roles()).isEqualTo("ROLE_STUDENT");
+        assertThat(second).containsSame(first.get());
+    }
+
+    @Test
+    void rejectsATokenOnceItExpiresInsteadOfServingTheCachedEntry() {
+        String token = token(UUID.randomUUID(), clock.instant().plusSeconds(2));
+        assertThat(jwtProvider.getVerifiedJwt(token)).isPresent();
+        JwtParser parser = (JwtParser) ReflectionTestUtils.getField(jwtProvider, "jwtParser");
+        JwtParser spyParser = spy(parser);
+        ReflectionTestUtils.setField(jwtProvider, "jwtParser", spyParser);
+
+        clock.advance(Duration.ofSeconds(3));
+
+        assertThat(jwtProvider.getVerifiedJwt(token)).isEmpty();
+        verify(spyParser).parseSignedClaims(token);
+    }
+
+    private static String token(UUID userId, Instant expiration) {
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim("roles", "ROLE_STUDENT")
+                .issuedAt(Date.from(expiration.minus(2, ChronoUnit.HOURS)))
+                .expiration(Date.from(expiration))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ead.course.configs.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RegistryMethodSecurityExpressionHandlerTests {
+
+    final AtomicInteger traversals = new AtomicInteger();
+
+    AuthorityRegistry authorityRegistry;
+    RegistryMethodSecurityExpressionHandler expressionHandler;
+
+    @BeforeEach
+    void setUp() {
+        RoleHierarchy roleHierarchy = RoleHierarchyImpl.fromHierarchy(
+                "ROLE_ADMIN > ROLE_INSTRUCTOR \n ROLE_INSTRUCTOR > ROLE_STUDENT \n ROLE_STUDENT > ROLE_USER");
+        authorityRegistry = new AuthorityRegistry(authorities -> {
+            traversals.incrementAndGet();
+            return roleHierarchy.getReachableGrantedAuthorities(authorities);
+        });
+        expressionHandler = new RegistryMethodSecurityExpressionHandler(authorityRegistry);
+        traversals.set(0);
+    }
+
+    @Test
+    void checksRolesWithoutWalkingTheHierarchy() throws NoSuchMethodException {
+        Authentication instructor = new ReachableAuthenticationToken(
+                UserDetailsImpl.build(UUID.randomUUID(), "ROLE_INSTRUCTOR", authorityRegistry));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(evaluate("hasAnyRole('USER')", instructor)).isTrue();
+            assertThat(evaluate("hasRole('STUDENT') and isAuthenticated()", instructor)).isTrue();
+            assertThat(evaluate("hasAnyRole('ADMIN')", instructor)).isFalse();
+        }
+
+        assertThat(traversals).hasValue(0);
+    }
+
+    @Test
+    void delegatesHasPermissionToTheConfiguredEvaluator() throws NoSuchMethodException {
+        Authentication student = new ReachableAuthenticationToken(
+                UserDetailsImpl.build(UUID.randomUUID(), "ROLE_STUDENT", authorityRegistry));
+        PermissionEvaluator permissionEvaluator = mock(PermissionEvaluator.class);
+        when(permissionEvaluator.hasPermission(any(Authentication.class), eq("course"), eq("read"))).thenReturn(true);
+        expressionHandler.setPermissionEvaluator(permissionEvaluator);
+
+        assertThat(evaluate("hasPermission('course', 'read')", student)).isTrue();
+        assertThat(evaluate("hasPermission('course', 'write')", student)).isFalse();
+    }
+
+    @Test
+    void keepsThePrecomputedSetOnTheAuthentication() {
+        var userDetails = UserDetailsImpl.build(UUID.randomUUID(), "ROLE_STUDENT", authorityRegistry);
+
+        assertThat(new ReachableAuthenticationToken(userDetails).getAuthorities())
+                .isSameAs(userDetails.getAuthorities());
+    }
+
+    private boolean evaluate(String expression, Authentication authentication) throws NoSuchMethodException {
+        Expression parsed = expressionHandler.getExpressionParser().parseExpression(expression);
+        var invocation = new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+        return ExpressionUtils.evaluateAsBoolean(parsed,
+                expressionHandler.createEvaluationContext(() -> authentication, invocation));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.enums.ActionType;
+import com.ead.course.publishers.UserEventDeadLetterPublisher;
+import com.ead.course.services.UserEventDeduplicationService;
+import com.ead.course.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserBatchConsumerTests {
+
+    final UserService userService = mock(UserService.class);
+    final UserEventDeadLetterPublisher userEventDeadLetterPublisher = mock(UserEventDeadLetterPublisher.class);
+    final Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+    final UserBatchConsumer userBatchConsumer = new UserBatchConsumer(userService,
+            mock(UserEventDeduplicationService.class), userEventDeadLetterPublisher, messageConverter);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appliesOnlyTheLastEventPerUserInOneCall() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        var firstUpdated = event(first, "first@ead.com", ActionType.UPDATE);
+        var secondDeleted = event(second, "second@ead.com", ActionType.DELETE);
+        var thirdCreated = event(third, "third@ead.com", ActionType.CREATE);
+
+        userBatchConsumer.listenUserEvents(messages(
+                event(first, "old@ead.com", ActionType.CREATE),
+                event(second, "second@ead.com", ActionType.CREATE),
+                firstUpdated,
+                secondDeleted,
+                thirdCreated));
+
+        ArgumentCaptor<Collection<UserEventRecordDto>> applied = ArgumentCaptor.forClass(Collection.class);
+        verify(userService).applyEvents(applied.capture());
+        assertThat(applied.getValue()).containsExactly(firstUpdated, secondDeleted, thirdCreated);
+    }
+
+    @Test
+    void deadLettersOnlyThePoisonEventOfAFailedBatch() {
+        var healthy = event(UUID.randomUUID(), "healthy@ead.com", ActionType.UPDATE);
+        var poison = event(UUID.randomUUID(), "poison@ead.com", ActionType.UPDATE);
+        doThrow(new IllegalStateException("constraint violation")).when(userService)
+                .applyEvents(argThat(userEvents -> userEvents.contains(poison)));
+        when(userEventDeadLetterPublisher.deadLetter(any(Message.class), any(), anyInt())).thenReturn(true);
+        List<Message> messages = messages(healthy, poison);
+
+        userBatchConsumer.listenUserEvents(messages);
+
+        verify(userService).applyEvents(List.of(healthy));
+        verify(userEventDeadLetterPublisher).deadLetter(eq(messages.get(1)), any(IllegalStateException.class), eq(2));
+        verify(userEventDeadLetterPublisher, times(1)).deadLetter(any(Message.class), any(), anyInt());
+    }
+
+    @Test
+    void deadLettersUnreadableMessagesAndAppliesTheRest() {
+        var healthy = event(UUID.randomUUID(), "healthy@ead.com", ActionType.UPDATE);
+        Message unreadable = new Message("{not json".getBytes(), new MessageProperties());
+        when(userEventDeadLetterPublisher.deadLetter(any(Message.class), any(), anyInt())).thenReturn(true);
+
+        userBatchConsumer.listenUserEvents(List.of(unreadable, messages(healthy).get(0)));
+
+        verify(userEventDeadLetterPublisher).deadLetter(eq(unreadable), any(), eq(1));
+        verify(userService).applyEvents(List.of(healthy));
+    }
+
+    @Test
+    void requeuesTheBatchWhenThePoisonEventCannotBeDeadLettered() {
+        var poison = event(UUID.randomUUID(), "poison@ead.com", ActionType.UPDATE);
+        doThrow(new IllegalStateException("constraint violation")).when(userService).applyEvents(any());
+
+        assertThatThrownBy(() -> userBatchConsumer.listenUserEvents(messages(poison)))
+                .isInstanceOf(ImmediateRequeueAmqpException.class);
+    }
+
+    private List<Message> messages(UserEventRecordDto... userEvents) {
+        return Arrays.stream(userEvents)
+                .map(userEvent -> messageConverter.toMessage(userEvent, new MessageProperties()))
+                .toList();
+    }
+
+    private static UserEventRecordDto event(UUID userId, String email, ActionType actionType) {
+        return new UserEventRecordDto(userId, email, email, "User " + email, "ACTIVE", "STUDENT", null, null,
+                actionType.toString());
+    }
+}
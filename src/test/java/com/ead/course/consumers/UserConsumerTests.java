@@ -0,0 +1,49 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.enums.ActionType;
+import com.ead.course.services.UserEventDeduplicationService;
+import com.ead.course.services.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class UserConsumerTests {
+
+    final UserService userService = mock(UserService.class);
+    final UserConsumer userConsumer = new UserConsumer(userService, mock(UserEventDeduplicationService.class));
+
+    @Test
+    void replicatesCreatesAndUpdatesWithoutLoadingTheUser() {
+        var created = event(ActionType.CREATE);
+        var updated = event(ActionType.UPDATE);
+
+        userConsumer.listenUserEvent(created);
+        userConsumer.listenUserEvent(updated);
+
+        verify(userService).replicate(created);
+        verify(userService).replicate(updated);
+        verify(userService, never()).save(any());
+        verify(userService, never()).findById(any());
+    }
+
+    @Test
+    void deletesOnDeleteEvents() {
+        var deleted = event(ActionType.DELETE);
+
+        userConsumer.listenUserEvent(deleted);
+
+        verify(userService).delete(deleted.userId());
+        verify(userService, never()).replicate(any());
+    }
+
+    private static UserEventRecordDto event(ActionType actionType) {
+        return new UserEventRecordDto(UUID.randomUUID(), "student", "student@ead.com", "Student", "ACTIVE",
+                "STUDENT", null, null, actionType.toString());
+    }
+}
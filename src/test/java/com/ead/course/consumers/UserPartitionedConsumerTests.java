@@ -0,0 +1,139 @@
+package com.ead.course.consumers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.enums.ActionType;
+import com.ead.course.publishers.UserEventDeadLetterPublisher;
+import com.ead.course.services.UserEventDeduplicationService;
+import com.ead.course.services.UserService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserPartitionedConsumerTests {
+
+    final UserService userService = mock(UserService.class);
+    final Channel channel = mock(Channel.class);
+    final UserEventDeadLetterPublisher userEventDeadLetterPublisher = mock(UserEventDeadLetterPublisher.class);
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final UserPartitionedConsumer consumer = new UserPartitionedConsumer(userService,
+            mock(UserEventDeduplicationService.class), userEventDeadLetterPublisher, meterRegistry, 4, 2,
+            Duration.ofMillis(1));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appliesEventsOfTheSameUserInDeliveryOrder() throws Exception {
+        Map<UUID, List<String>> applied = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            for (UserEventRecordDto userEvent : (Collection<UserEventRecordDto>) invocation.getArgument(0)) {
+                Thread.sleep(userEvent.email().hashCode() & 3);
+                applied.computeIfAbsent(userEvent.userId(), userId -> new CopyOnWriteArrayList<>()).add(userEvent.email());
+            }
+            return null;
+        }).when(userService).applyEvents(any());
+        List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID());
+
+        long deliveryTag = 0;
+        for (int version = 0; version < 20; version++) {
+            for (UUID userId : userIds) {
+                consumer.listenUserEvent(event(userId, "v" + version + "@ead.com"), channel, ++deliveryTag);
+            }
+        }
+        consumer.shutdown();
+
+        List<String> expected = new ArrayList<>();
+        for (int version = 0; version < 20; version++) {
+            expected.add("v" + version + "@ead.com");
+        }
+        userIds.forEach(userId -> assertThat(applied.get(userId)).containsExactlyElementsOf(expected));
+        verify(channel, times(120)).basicAck(anyLong(), eq(false));
+        Collection<Timer> latencies = meterRegistry.get("ead.course.user.events.lane.latency").timers();
+        assertThat(latencies).hasSize(4);
+        assertThat(latencies.stream().mapToLong(Timer::count).sum()).isEqualTo(120);
+    }
+
+    @Test
+    void deadLettersAnEventThatKeepsFailing() throws Exception {
+        doThrow(new IllegalStateException("boom")).when(userService).applyEvents(any());
+        when(userEventDeadLetterPublisher.deadLetter(any(UserEventRecordDto.class), any(), anyInt())).thenReturn(true);
+        UserEventRecordDto userEvent = event(UUID.randomUUID(), "fail@ead.com");
+
+        consumer.listenUserEvent(userEvent, channel, 7);
+        consumer.shutdown();
+
+        verify(userService, times(2)).applyEvents(any());
+        verify(userEventDeadLetterPublisher).deadLetter(eq(userEvent), any(IllegalStateException.class), eq(2));
+        verify(channel).basicAck(7, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void holdsTheLaneUntilTheDeadLetterIsConfirmedInsteadOfRequeueing() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UserEventRecordDto failing = event(userId, "fail@ead.com");
+        UserEventRecordDto next = event(userId, "next@ead.com");
+        List<String> applied = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            UserEventRecordDto userEvent = invocation.<Collection<UserEventRecordDto>>getArgument(0).iterator().next();
+            if (userEvent.equals(failing)) {
+                throw new IllegalStateException("boom");
+            }
+            applied.add(userEvent.email());
+            return null;
+        }).when(userService).applyEvents(any());
+        when(userEventDeadLetterPublisher.deadLetter(eq(failing), any(), anyInt())).thenReturn(false, false, true);
+
+        consumer.listenUserEvent(failing, channel, 7);
+        consumer.listenUserEvent(next, channel, 8);
+        consumer.shutdown();
+
+        verify(userEventDeadLetterPublisher, times(3)).deadLetter(eq(failing), any(), anyInt());
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).basicAck(7, false);
+        inOrder.verify(channel).basicAck(8, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertThat(applied).containsExactly("next@ead.com");
+    }
+
+    @Test
+    void leavesDeliveriesReceivedAfterShutdownUnsettled() throws Exception {
+        consumer.shutdown();
+
+        consumer.listenUserEvent(event(UUID.randomUUID(), "late@ead.com"), channel, 9);
+
+        verify(userService, never()).applyEvents(any());
+        verifyNoInteractions(channel);
+    }
+
+    private static UserEventRecordDto event(UUID userId, String email) {
+        return new UserEventRecordDto(userId, email, email, "User " + email, "ACTIVE", "STUDENT", null, null,
+                ActionType.UPDATE.toString());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ead.course.models;
+
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class UuidV7GeneratorTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void generatesStrictlyIncreasingVersion7Identifiers() {
+        long before = System.currentTimeMillis();
+        UUID previous = UuidV7Generator.nextUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.nextUuid();
+            assertThat(next.toString()).isGreaterThan(previous.toString());
+            previous = next;
+        }
+
+        assertThat(previous.version()).isEqualTo(7);
+        assertThat(previous.variant()).isEqualTo(2);
+        assertThat(previous.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis() + 100);
+    }
+
+    @Test
+    void generatesEntityIdsAndKeepsAssignedOnes() {
+        CourseModel first = courseRepository.save(TestModels.course("Spring Boot"));
+        CourseModel second = courseRepository.save(TestModels.course("Kafka"));
+        UserModel replicated = TestModels.user("student@ead.com");
+        UUID authUserId = UUID.randomUUID();
+        replicated.setUserId(authUserId);
+        userRepository.save(replicated);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(first.getCourseId().version()).isEqualTo(7);
+        assertThat(second.getCourseId().toString()).isGreaterThan(first.getCourseId().toString());
+        assertThat(userRepository.findById(authUserId)).isPresent();
+    }
+}
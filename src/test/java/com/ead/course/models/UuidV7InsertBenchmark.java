@@ -0,0 +1,72 @@
+package com.ead.course.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares insert throughput and primary key index size of random UUIDs against
+ * {@link UuidV7Generator} on a local PostgreSQL database. Not part of the regular test run:
+ * <pre>
+ * mvn test -Dtest=UuidV7InsertBenchmark -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dead.benchmark.url=jdbc:postgresql://localhost:5432/ead-bench \
+ *     -Dead.benchmark.username=postgres -Dead.benchmark.password=secret [-Dead.benchmark.rows=2000000]
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "ead.benchmark.url", matches = ".+")
+class UuidV7InsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Test
+    void compareRandomAndTimeOrderedInserts() throws SQLException {
+        int rows = Integer.getInteger("ead.benchmark.rows", 1_000_000);
+        try (Connection connection = DriverManager.getConnection(System.getProperty("ead.benchmark.url"),
+                System.getProperty("ead.benchmark.username"), System.getProperty("ead.benchmark.password"))) {
+            run(connection, "bench_uuid_random", rows, UUID::randomUUID);
+            run(connection, "bench_uuid_v7", rows, UuidV7Generator::nextUuid);
+        }
+    }
+
+    private static void run(Connection connection, String table, int rows, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id uuid primary key, course_id uuid not null, " +
+                    "title varchar(150) not null)");
+            statement.execute("create index on " + table + " (course_id, id)");
+        }
+        connection.setAutoCommit(false);
+        UUID courseId = UUID.randomUUID();
+        long start = System.nanoTime();
+        try (var ps = connection.prepareStatement("insert into " + table + " (id, course_id, title) values (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                ps.setObject(1, ids.get());
+                ps.setObject(2, courseId);
+                ps.setString(3, "Lesson " + i);
+                ps.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select pg_size_pretty(pg_relation_size('" + table + "_pkey')), " +
+                     "pg_size_pretty(pg_indexes_size('" + table + "'))")) {
+            rs.next();
+            System.out.printf("%s: %d rows in %d ms (%.0f rows/s), pkey %s, all indexes %s%n", table, rows,
+                    elapsedMillis, rows * 1000.0 / Math.max(1, elapsedMillis), rs.getString(1), rs.getString(2));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ead.course.publishers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+    final AtomicLong clock = new AtomicLong();
+    final CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        circuitBreaker.recordFailure();
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void letsOneTrialThroughAfterTheOpenDuration() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.recordSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ead.course.publishers;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserEventDeadLetterPublisherTests {
+
+    final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final UserEventDeadLetterPublisher publisher = new UserEventDeadLetterPublisher(rabbitTemplate, meterRegistry,
+            "user-events.dlq", Duration.ofMillis(200));
+
+    @Test
+    void republishesToTheDeadLetterQueueAndReportsTheConfirm() {
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        confirmDeadLetters(true);
+
+        assertThat(publisher.deadLetter(event(), new IllegalStateException("boom"), 3)).isTrue();
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq("user-events.dlq"), sent.capture(), any(CorrelationData.class));
+        assertThat(sent.getValue().getMessageProperties().<String>getHeader("x-exception-message")).isEqualTo("boom");
+        assertThat(sent.getValue().getMessageProperties().<Integer>getHeader("x-attempts")).isEqualTo(3);
+        assertThat(meterRegistry.get("ead.course.user.events.dead.lettered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsNackedAndUnconfirmedCopiesAsNotDeadLettered() {
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        confirmDeadLetters(false);
+        assertThat(publisher.deadLetter(event(), new IllegalStateException("boom"), 3)).isFalse();
+
+        doAnswer(invocation -> null).when(rabbitTemplate)
+                .send(eq(""), eq("user-events.dlq"), any(Message.class), any(CorrelationData.class));
+        assertThat(publisher.deadLetter(event(), new IllegalStateException("boom"), 3)).isFalse();
+    }
+
+    private void confirmDeadLetters(boolean ack) {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, CorrelationData.class).getFuture()
+                    .complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), eq("user-events.dlq"), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static UserEventRecordDto event() {
+        return new UserEventRecordDto(UUID.randomUUID(), "user", "user@ead.com", "User", "ACTIVE", "STUDENT", null,
+                null, "UPDATE");
+    }
+}
@@ -0,0 +1,155 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.BulkSubscriptionSummaryRecordDto;
+import com.ead.course.dtos.SubscriptionResultRecordDto;
+import com.ead.course.enums.SubscriptionStatus;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.NotificationOutboxModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.publishers.NotificationCommandPublisher;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.NotificationOutboxRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.SearchService;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:bulk-subscriptions;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"})
+class BulkSubscriptionTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    LessonRepository lessonRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManager entityManager;
+
+    NotificationCommandPublisher notificationCommandPublisher;
+    CourseServiceImpl courseService;
+    CourseModel course;
+    UserModel enrolled;
+    UserModel blocked;
+    List<UserModel> active = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        notificationCommandPublisher = mock(NotificationCommandPublisher.class);
+        var notificationOutboxService = new NotificationOutboxServiceImpl(notificationOutboxRepository,
+                notificationCommandPublisher, transactionManager, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                Duration.ofMinutes(5));
+        courseService = new CourseServiceImpl(courseRepository, moduleRepository, lessonRepository, userRepository,
+                notificationOutboxService, mock(PageQueries.class), mock(SearchService.class));
+        enrolled = userRepository.save(TestModels.user("enrolled@ead.com"));
+        blocked = TestModels.user("blocked@ead.com");
+        blocked.setUserStatus(UserStatus.BLOCKED.toString());
+        blocked = userRepository.save(blocked);
+        for (int i = 0; i < 3; i++) {
+            active.add(userRepository.save(TestModels.user("active" + i + "@ead.com")));
+        }
+        course = TestModels.course("Spring Boot");
+        course.setUsers(Set.of(enrolled));
+        course = courseRepository.save(course);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void subscribesEligibleUsersAndReportsEveryUser() {
+        UUID unknown = UUID.randomUUID();
+        List<UUID> userIds = List.of(active.get(0).getUserId(), enrolled.getUserId(), blocked.getUserId(), unknown,
+                active.get(1).getUserId(), active.get(2).getUserId(), active.get(0).getUserId());
+
+        BulkSubscriptionSummaryRecordDto summary = courseService.saveSubscriptionsInCourse(course, userIds);
+
+        assertThat(summary.requested()).isEqualTo(6);
+        assertThat(summary.duplicates()).isEqualTo(1);
+        assertThat(summary.results()).containsExactly(
+                new SubscriptionResultRecordDto(active.get(0).getUserId(), SubscriptionStatus.SUBSCRIBED),
+                new SubscriptionResultRecordDto(enrolled.getUserId(), SubscriptionStatus.ALREADY_SUBSCRIBED),
+                new SubscriptionResultRecordDto(blocked.getUserId(), SubscriptionStatus.USER_BLOCKED),
+                new SubscriptionResultRecordDto(unknown, SubscriptionStatus.USER_NOT_FOUND),
+                new SubscriptionResultRecordDto(active.get(1).getUserId(), SubscriptionStatus.SUBSCRIBED),
+                new SubscriptionResultRecordDto(active.get(2).getUserId(), SubscriptionStatus.SUBSCRIBED));
+        assertThat(summary.totals()).containsEntry(SubscriptionStatus.SUBSCRIBED, 3L)
+                .containsEntry(SubscriptionStatus.ALREADY_SUBSCRIBED, 1L);
+        assertThat(enrollments()).isEqualTo(4);
+
+        BulkSubscriptionSummaryRecordDto again = courseService.saveSubscriptionsInCourse(course, userIds);
+        assertThat(again.totals()).containsEntry(SubscriptionStatus.ALREADY_SUBSCRIBED, 4L)
+                .doesNotContainKey(SubscriptionStatus.SUBSCRIBED);
+        assertThat(enrollments()).isEqualTo(4);
+    }
+
+    @Test
+    void writesNotificationsToTheOutboxInsteadOfTheBroker() {
+        courseService.saveSubscriptionsInCourse(course, List.of(active.get(0).getUserId(), active.get(1).getUserId()));
+
+        assertThat(notificationOutboxRepository.findAll())
+                .extracting(NotificationOutboxModel::getUserId)
+                .containsExactlyInAnyOrder(active.get(0).getUserId(), active.get(1).getUserId());
+        verifyNoInteractions(notificationCommandPublisher);
+    }
+
+    @Test
+    void reportsUsersEnrolledConcurrentlyAsAlreadySubscribedWithoutNotifyingThem() {
+        UserRepository racingUserRepository = mock(UserRepository.class);
+        when(racingUserRepository.findSubscriptionCandidates(any(), anyCollection())).thenAnswer(invocation -> {
+            var candidates = userRepository.findSubscriptionCandidates(invocation.getArgument(0), invocation.getArgument(1));
+            courseRepository.saveCourseUser(course.getCourseId(), active.get(1).getUserId());
+            return candidates;
+        });
+        var notificationOutboxService = new NotificationOutboxServiceImpl(notificationOutboxRepository,
+                notificationCommandPublisher, transactionManager, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                Duration.ofMinutes(5));
+        var racingCourseService = new CourseServiceImpl(courseRepository, moduleRepository, lessonRepository,
+                racingUserRepository, notificationOutboxService, mock(PageQueries.class), mock(SearchService.class));
+
+        BulkSubscriptionSummaryRecordDto summary = racingCourseService.saveSubscriptionsInCourse(course,
+                List.of(active.get(0).getUserId(), active.get(1).getUserId()));
+
+        assertThat(summary.results()).containsExactly(
+                new SubscriptionResultRecordDto(active.get(0).getUserId(), SubscriptionStatus.SUBSCRIBED),
+                new SubscriptionResultRecordDto(active.get(1).getUserId(), SubscriptionStatus.ALREADY_SUBSCRIBED));
+        assertThat(notificationOutboxRepository.findAll())
+                .extracting(NotificationOutboxModel::getUserId)
+                .containsExactly(active.get(0).getUserId());
+        assertThat(enrollments()).isEqualTo(3);
+    }
+
+    private long enrollments() {
+        return ((Number) entityManager.createNativeQuery("select count(*) from tb_courses_users where course_id = :courseId")
+                .setParameter("courseId", course.getCourseId())
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.NotificationOutboxService;
+import com.ead.course.services.SearchService;
+import com.ead.course.support.SqlStatementInspector;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ead.course.support.SqlStatementInspector"
+})
+class CascadeDeleteTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    LessonRepository lessonRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 12})
+    void deletesCourseInFourStatementsWhateverItsSize(int modules) {
+        CourseModel course = createCourse(modules, 5);
+        CourseModel survivor = createCourse(2, 2);
+        var courseService = new CourseServiceImpl(courseRepository, moduleRepository, lessonRepository, userRepository,
+                mock(NotificationOutboxService.class), mock(PageQueries.class), mock(SearchService.class));
+        SqlStatementInspector.clear();
+
+        courseService.delete(course);
+        entityManager.flush();
+
+        assertThat(SqlStatementInspector.statements()).hasSize(4);
+        entityManager.clear();
+        assertThat(courseRepository.findAll()).extracting(CourseModel::getCourseId)
+                .containsExactly(survivor.getCourseId());
+        assertThat(moduleRepository.count()).isEqualTo(2);
+        assertThat(lessonRepository.count()).isEqualTo(4);
+        assertThat(((Number) entityManager
+                .createNativeQuery("select count(*) from tb_courses_users where course_id = :courseId")
+                .setParameter("courseId", course.getCourseId())
+                .getSingleResult()).longValue()).isZero();
+    }
+
+    @Test
+    void deletesModuleInTwoStatements() {
+        CourseModel course = createCourse(3, 20);
+        ModuleModel module = moduleRepository.findAllModulesIntoCourse(course.getCourseId()).get(0);
+        var moduleService = new ModuleServiceImpl(moduleRepository, lessonRepository, mock(PageQueries.class),
+                mock(SearchService.class));
+        SqlStatementInspector.clear();
+
+        moduleService.delete(module);
+        entityManager.flush();
+
+        assertThat(SqlStatementInspector.statements()).hasSize(2);
+        entityManager.clear();
+        assertThat(moduleRepository.count()).isEqualTo(2);
+        assertThat(lessonRepository.count()).isEqualTo(40);
+    }
+
+    private CourseModel createCourse(int modules, int lessonsPerModule) {
+        UserModel user = userRepository.save(TestModels.user(UUID.randomUUID() + "@ead.com"));
+        CourseModel course = TestModels.course("Course " + UUID.randomUUID());
+        course.setUsers(Set.of(user));
+        course = courseRepository.save(course);
+        for (int m = 0; m < modules; m++) {
+            ModuleModel module = moduleRepository.save(TestModels.module("Module " + m, course));
+            for (int l = 0; l < lessonsPerModule; l++) {
+                lessonRepository.save(TestModels.lesson("Lesson " + l, module));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return course;
+    }
+}
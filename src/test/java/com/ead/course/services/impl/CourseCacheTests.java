@@ -0,0 +1,129 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.configs.CacheConfig;
+import com.ead.course.dtos.CourseRecordDTO;
+import com.ead.course.dtos.CourseResponseRecordDto;
+import com.ead.course.models.CourseModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.services.CourseService;
+import com.ead.course.services.NotificationOutboxService;
+import com.ead.course.services.SearchService;
+import com.ead.course.support.SqlStatementInspector;
+import com.ead.course.support.TestModels;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ead.course.support.SqlStatementInspector"
+})
+@Import({CacheConfig.class, CourseServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseCacheTests {
+
+    @Autowired
+    CourseService courseService;
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    CacheManager cacheManager;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    NotificationOutboxService notificationOutboxService;
+    @MockBean
+    PageQueries pageQueries;
+    @MockBean
+    SearchService searchService;
+
+    CourseModel course;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.COURSES_CACHE).clear();
+        course = courseRepository.save(TestModels.course("Spring Boot"));
+        SqlStatementInspector.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedLookupIsServedFromTheCache() {
+        CourseResponseRecordDto first = courseService.findResponseById(course.getCourseId()).orElseThrow();
+        int statements = SqlStatementInspector.statements().size();
+
+        CourseResponseRecordDto second = courseService.findResponseById(course.getCourseId()).orElseThrow();
+
+        assertThat(statements).isPositive();
+        assertThat(SqlStatementInspector.statements()).hasSize(statements);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void updateEvictsTheCachedResponse() {
+        courseService.findResponseById(course.getCourseId());
+
+        courseService.update(course.getCourseId(), dto("Spring Boot 3"));
+
+        assertThat(cachedResponse()).isNull();
+        assertThat(courseService.findResponseById(course.getCourseId()).orElseThrow().name()).isEqualTo("Spring Boot 3");
+    }
+
+    @Test
+    void evictsAfterCommitWhatAConcurrentReaderCachedFromTheOldRow() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            courseService.update(course.getCourseId(), dto("Spring Boot 3"));
+            String seenByReader = CompletableFuture
+                    .supplyAsync(() -> courseService.findResponseById(course.getCourseId()).orElseThrow().name())
+                    .join();
+            assertThat(seenByReader).isEqualTo("Spring Boot");
+            assertThat(cachedResponse()).isNotNull();
+        });
+
+        assertThat(cachedResponse()).isNull();
+        assertThat(courseService.findResponseById(course.getCourseId()).orElseThrow().name()).isEqualTo("Spring Boot 3");
+    }
+
+    @Test
+    void failedUpdateRollsBackAndKeepsTheCachedCopy() {
+        courseService.findResponseById(course.getCourseId());
+        doThrow(new IllegalStateException("search index unavailable")).when(searchService).indexCourse(any());
+
+        assertThatThrownBy(() -> courseService.update(course.getCourseId(), dto("Spring Boot 3")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cachedResponse()).isNotNull();
+        assertThat(courseService.findResponseById(course.getCourseId()).orElseThrow().name()).isEqualTo("Spring Boot");
+        assertThat(courseService.findById(course.getCourseId()).orElseThrow().getName()).isEqualTo("Spring Boot");
+    }
+
+    private Object cachedResponse() {
+        return cacheManager.getCache(CacheConfig.COURSES_CACHE).get("response:" + course.getCourseId());
+    }
+
+    private CourseRecordDTO dto(String name) {
+        return new CourseRecordDTO(name, course.getDescription(), course.getCourseStatus(), course.getCourseLevel(),
+                course.getUserInstructor(), course.getImageUrl());
+    }
+}
@@ -0,0 +1,102 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.NotificationOutboxService;
+import com.ead.course.services.SearchService;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class CoursePurgeTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    LessonRepository lessonRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManager entityManager;
+
+    CourseServiceImpl courseService;
+    CoursePurgeServiceImpl coursePurgeService;
+    CourseModel course;
+    CourseModel survivor;
+
+    @BeforeEach
+    void setUp() {
+        courseService = new CourseServiceImpl(courseRepository, moduleRepository, lessonRepository, userRepository,
+                mock(NotificationOutboxService.class), mock(PageQueries.class), mock(SearchService.class));
+        coursePurgeService = new CoursePurgeServiceImpl(courseRepository, moduleRepository, lessonRepository,
+                transactionManager);
+        course = TestModels.course("Spring Boot");
+        course.setUsers(Set.of(userRepository.save(TestModels.user("a@ead.com")),
+                userRepository.save(TestModels.user("b@ead.com"))));
+        course = courseRepository.save(course);
+        for (int m = 0; m < 3; m++) {
+            ModuleModel module = moduleRepository.save(TestModels.module("Module " + m, course));
+            for (int l = 0; l < 4; l++) {
+                lessonRepository.save(TestModels.lesson("Lesson " + l, module));
+            }
+        }
+        survivor = courseRepository.save(TestModels.course("Kafka"));
+        moduleRepository.save(TestModels.module("Streams", survivor));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void softDeleteHidesCourseAndChildren() {
+        courseService.softDelete(course);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(courseRepository.findById(course.getCourseId())).isEmpty();
+        assertThat(courseRepository.findAll()).extracting(CourseModel::getCourseId)
+                .containsExactly(survivor.getCourseId());
+        assertThat(moduleRepository.findAllModulesIntoCourse(course.getCourseId())).isEmpty();
+        assertThat(moduleRepository.count()).isEqualTo(1);
+        assertThat(lessonRepository.count()).isZero();
+        assertThat(courseRepository.existsByName("Spring Boot")).isTrue();
+        assertThat(coursePurgeService.findCoursesPendingPurge(10)).containsExactly(course.getCourseId());
+    }
+
+    @Test
+    void purgeRemovesRowsInChunks() {
+        courseService.softDelete(course);
+        entityManager.flush();
+
+        long purged = coursePurgeService.purge(course.getCourseId(), 5);
+        entityManager.clear();
+
+        assertThat(purged).isEqualTo(12 + 3 + 2 + 1);
+        assertThat(coursePurgeService.countCoursesPendingPurge()).isZero();
+        assertThat(countRows("tb_lessons")).isZero();
+        assertThat(countRows("tb_modules")).isEqualTo(1);
+        assertThat(countRows("tb_courses_users")).isZero();
+        assertThat(countRows("tb_courses")).isEqualTo(1);
+    }
+
+    private long countRows(String table) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from " + table).getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.CursorPageRecordDto;
+import com.ead.course.dtos.RosterFilterRecordDto;
+import com.ead.course.dtos.UserResponseRecordDto;
+import com.ead.course.enums.ExportFormat;
+import com.ead.course.enums.UserType;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.support.TestModels;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:roster;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"})
+class CourseRosterTests {
+
+    private static final RosterFilterRecordDto NO_FILTER = new RosterFilterRecordDto(null, null, null, null);
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    UserServiceImpl userService;
+    CourseModel course;
+    List<UUID> enrolled;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, courseRepository, mock(PageQueries.class));
+        course = courseRepository.save(TestModels.course("Spring Boot"));
+        CourseModel otherCourse = courseRepository.save(TestModels.course("Kafka"));
+        List<UserModel> users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            users.add(userRepository.save(TestModels.user("student" + i + "@ead.com")));
+        }
+        UserModel instructor = TestModels.user("st_x@ead.com");
+        instructor.setFullName("Smith, \"Jo\"");
+        instructor.setUserType(UserType.INSTRUCTOR.toString());
+        users.add(userRepository.save(instructor));
+        userRepository.save(TestModels.user("stAx@ead.com"));
+        entityManager.flush();
+        enrolled = users.stream().map(UserModel::getUserId).sorted(Comparator.comparing(UUID::toString)).toList();
+        courseRepository.saveCourseUsers(course.getCourseId(), enrolled);
+        courseRepository.saveCourseUsers(otherCourse.getCourseId(), List.of(enrolled.get(0)));
+    }
+
+    @Test
+    void cursorWalksEveryEnrolleeInUserIdOrder() {
+        List<UUID> seen = new ArrayList<>();
+        String after = "";
+        do {
+            CursorPageRecordDto<UserResponseRecordDto> page = userService.findRoster(course.getCourseId(), NO_FILTER,
+                    after, PageRequest.of(0, 3));
+            page.content().forEach(user -> seen.add(user.userId()));
+            after = page.nextCursor();
+        } while (after != null);
+
+        assertThat(seen).containsExactlyElementsOf(enrolled);
+    }
+
+    @Test
+    void offsetPagesAreCountedPerCourse() {
+        var page = userService.findRoster(course.getCourseId(), NO_FILTER, PageRequest.of(1, 3));
+
+        assertThat(page.getTotalElements()).isEqualTo(8);
+        assertThat(page.getContent()).extracting(UserResponseRecordDto::userId)
+                .containsExactlyElementsOf(enrolled.subList(3, 6));
+        assertThat(userService.findRosterSlice(course.getCourseId(), NO_FILTER, PageRequest.of(2, 3)).hasNext())
+                .isFalse();
+    }
+
+    @Test
+    void prefixFiltersEscapeWildcards() {
+        var byEmail = userService.findRoster(course.getCourseId(),
+                new RosterFilterRecordDto("st_", null, null, null), PageRequest.of(0, 10));
+        var byType = userService.findRoster(course.getCourseId(),
+                new RosterFilterRecordDto("student", null, null, UserType.STUDENT.toString()), PageRequest.of(0, 10));
+
+        assertThat(byEmail.getContent()).extracting(UserResponseRecordDto::email).containsExactly("st_x@ead.com");
+        assertThat(byType.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void exportsCsvInUserIdOrderWithQuotedFields() {
+        var output = new ByteArrayOutputStream();
+
+        long rows = new RosterExportServiceImpl(courseRepository, new ObjectMapper(), 3)
+                .exportRoster(course.getCourseId(), NO_FILTER, ExportFormat.CSV, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(8);
+        assertThat(lines).hasSize(9);
+        assertThat(lines.get(0)).isEqualTo("userId,email,fullName,userStatus,userType,imageUrl");
+        assertThat(lines.subList(1, 9)).extracting(line -> UUID.fromString(line.substring(0, 36)))
+                .containsExactlyElementsOf(enrolled);
+        assertThat(lines).anyMatch(line -> line.contains(",st_x@ead.com,\"Smith, \"\"Jo\"\"\",ACTIVE,INSTRUCTOR,"));
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLine() throws Exception {
+        var output = new ByteArrayOutputStream();
+        var objectMapper = new ObjectMapper();
+
+        new RosterExportServiceImpl(courseRepository, objectMapper, 1000).exportRoster(course.getCourseId(),
+                new RosterFilterRecordDto(null, null, null, UserType.INSTRUCTOR.toString()), ExportFormat.NDJSON, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readValue(lines.get(0), UserResponseRecordDto.class).email()).isEqualTo("st_x@ead.com");
+    }
+}
@@ -0,0 +1,95 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.CourseTreeRecordDto;
+import com.ead.course.dtos.LessonResponseRecordDto;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.NotificationOutboxService;
+import com.ead.course.services.SearchService;
+import com.ead.course.support.SqlStatementInspector;
+import com.ead.course.support.TestModels;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ead.course.support.SqlStatementInspector"
+})
+class CourseTreeTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    LessonRepository lessonRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    CourseServiceImpl courseService;
+    CourseModel course;
+
+    @BeforeEach
+    void setUp() {
+        courseService = new CourseServiceImpl(courseRepository, moduleRepository, lessonRepository, userRepository,
+                mock(NotificationOutboxService.class), mock(PageQueries.class), mock(SearchService.class));
+        course = courseRepository.save(TestModels.course("Spring Boot"));
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int m = 0; m < 4; m++) {
+            ModuleModel module = TestModels.module("Module " + m, course);
+            module.setCreationDate(start.plusDays(m));
+            module = moduleRepository.save(module);
+            for (int l = 0; l < m; l++) {
+                var lesson = TestModels.lesson("Lesson " + m + "." + l, module);
+                lesson.setCreationDate(start.plusDays(m).plusHours(l));
+                lessonRepository.save(lesson);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementInspector.clear();
+    }
+
+    @Test
+    void loadsHierarchyInThreeQueries() {
+        CourseTreeRecordDto tree = courseService.findTreeById(course.getCourseId());
+
+        assertThat(tree.course().name()).isEqualTo("Spring Boot");
+        assertThat(tree.modules()).extracting(module -> module.module().title())
+                .containsExactly("Module 0", "Module 1", "Module 2", "Module 3");
+        assertThat(tree.modules()).extracting(module -> module.lessons().size()).containsExactly(0, 1, 2, 3);
+        assertThat(tree.modules().get(3).lessons()).extracting(LessonResponseRecordDto::title)
+                .containsExactly("Lesson 3.0", "Lesson 3.1", "Lesson 3.2");
+        assertThat(SqlStatementInspector.statements()).hasSize(3);
+    }
+
+    @Test
+    void serializesModulesAndLessonsNested() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        JsonNode json = objectMapper.valueToTree(courseService.findTreeById(course.getCourseId()));
+
+        assertThat(json.get("name").asText()).isEqualTo("Spring Boot");
+        JsonNode lastModule = json.get("modules").get(3);
+        assertThat(lastModule.get("title").asText()).isEqualTo("Module 3");
+        assertThat(lastModule.get("lessons")).hasSize(3);
+        assertThat(lastModule.get("lessons").get(0).get("title").asText()).isEqualTo("Lesson 3.0");
+    }
+}
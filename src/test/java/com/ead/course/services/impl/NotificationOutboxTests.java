@@ -0,0 +1,96 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.NotificationRecordCommandDto;
+import com.ead.course.models.NotificationOutboxModel;
+import com.ead.course.publishers.NotificationCommandPublisher;
+import com.ead.course.repositories.NotificationOutboxRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class NotificationOutboxTests {
+
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManager entityManager;
+
+    NotificationCommandPublisher notificationCommandPublisher;
+    NotificationOutboxServiceImpl notificationOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        notificationCommandPublisher = mock(NotificationCommandPublisher.class);
+        notificationOutboxService = new NotificationOutboxServiceImpl(notificationOutboxRepository,
+                notificationCommandPublisher, transactionManager, Duration.ofSeconds(5), Duration.ofMinutes(1),
+                Duration.ofMinutes(10));
+        notificationOutboxService.enqueue(List.of(
+                new NotificationRecordCommandDto("welcome to course", "user A", UUID.randomUUID()),
+                new NotificationRecordCommandDto("welcome to course", "user B", UUID.randomUUID()),
+                new NotificationRecordCommandDto("welcome to course", "user C", UUID.randomUUID())));
+    }
+
+    @Test
+    void relaysInBatchesAndDeletesConfirmedRows() {
+        assertThat(notificationOutboxService.relay(2)).isEqualTo(2);
+        assertThat(notificationOutboxService.relay(2)).isEqualTo(1);
+        assertThat(notificationOutboxService.relay(2)).isZero();
+
+        verify(notificationCommandPublisher).publishNotificationCommandsConfirmed(
+                argThat(batch -> batch.size() == 2), any());
+        assertThat(notificationOutboxService.countPending()).isZero();
+    }
+
+    @Test
+    void keepsUnconfirmedRowsAndBacksOff() {
+        doThrow(new AmqpException("nack")).when(notificationCommandPublisher)
+                .publishNotificationCommandsConfirmed(anyList(), any());
+
+        assertThatThrownBy(() -> notificationOutboxService.relay(10)).isInstanceOf(AmqpException.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<NotificationOutboxModel> pending = notificationOutboxRepository.findAll();
+        assertThat(pending).hasSize(3).allSatisfy(outbox -> {
+            assertThat(outbox.getAttempts()).isEqualTo(1);
+            assertThat(outbox.getNextAttemptDate()).isAfter(LocalDateTime.now(ZoneId.of("UTC")).plusSeconds(30));
+        });
+        assertThat(notificationOutboxService.relay(10)).isZero();
+        assertThat(notificationOutboxService.findOldestPendingDate()).isNotNull();
+    }
+
+    @Test
+    void skipsTheBrokerAndLeavesRowsUntouchedWhileTheCircuitIsOpen() {
+        when(notificationCommandPublisher.isCircuitOpen()).thenReturn(true);
+
+        assertThat(notificationOutboxService.relay(10)).isZero();
+
+        verify(notificationCommandPublisher, never()).publishNotificationCommandsConfirmed(anyList(), any());
+        assertThat(notificationOutboxRepository.findAll()).hasSize(3)
+                .allSatisfy(outbox -> assertThat(outbox.getAttempts()).isZero());
+    }
+}
@@ -0,0 +1,103 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.configs.CacheConfig;
+import com.ead.course.dtos.CourseResponseRecordDto;
+import com.ead.course.dtos.CursorPageRecordDto;
+import com.ead.course.dtos.ModuleResponseRecordDto;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.specifications.KeysetOrder;
+import com.ead.course.specifications.SpecificationTemplate;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Import({PageQueries.class, CacheConfig.class})
+class PageQueriesTests {
+
+    private static final KeysetOrder<ModuleModel, ModuleResponseRecordDto> KEYSET_ORDER = new KeysetOrder<>(
+            "creationDate", ModuleResponseRecordDto::creationDate, "moduleId", ModuleResponseRecordDto::moduleId);
+
+    @Autowired
+    PageQueries pageQueries;
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    CourseModel course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.save(TestModels.course("Spring Boot"));
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            ModuleModel module = TestModels.module("Module " + i, course);
+            module.setCreationDate(start.plusDays(i));
+            moduleRepository.save(module);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findPageSelectsRecordsWithoutManagingEntities() {
+        Page<ModuleResponseRecordDto> page = pageQueries.findPage(ModuleModel.class, ModuleResponseRecordDto.class,
+                SpecificationTemplate.moduleCourseId(course.getCourseId()),
+                PageRequest.of(0, 2, Sort.by("creationDate")));
+
+        assertThat(page.getContent()).extracting(ModuleResponseRecordDto::title)
+                .containsExactly("Module 0", "Module 1");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    void findSliceAndCursorPageWalkTheSameRows() {
+        Slice<ModuleResponseRecordDto> slice = pageQueries.findSlice(ModuleModel.class, ModuleResponseRecordDto.class,
+                null, PageRequest.of(2, 2, Sort.by("creationDate")));
+        assertThat(slice.getContent()).extracting(ModuleResponseRecordDto::title).containsExactly("Module 4");
+        assertThat(slice.hasNext()).isFalse();
+
+        CursorPageRecordDto<ModuleResponseRecordDto> first = pageQueries.findCursorPage(ModuleModel.class,
+                ModuleResponseRecordDto.class, KEYSET_ORDER, null, null, PageRequest.of(0, 3));
+        CursorPageRecordDto<ModuleResponseRecordDto> second = pageQueries.findCursorPage(ModuleModel.class,
+                ModuleResponseRecordDto.class, KEYSET_ORDER, null, first.nextCursor(), PageRequest.of(0, 3));
+
+        assertThat(first.content()).extracting(ModuleResponseRecordDto::title)
+                .containsExactly("Module 0", "Module 1", "Module 2");
+        assertThat(second.content()).extracting(ModuleResponseRecordDto::title)
+                .containsExactly("Module 3", "Module 4");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    void derivedQueriesProjectIntoRecords() {
+        assertThat(courseRepository.findByCourseId(course.getCourseId(), CourseResponseRecordDto.class))
+                .hasValueSatisfying(response -> assertThat(response.name()).isEqualTo("Spring Boot"));
+        assertThat(managedEntities()).isZero();
+    }
+
+    private int managedEntities() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
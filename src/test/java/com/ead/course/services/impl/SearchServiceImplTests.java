@@ -0,0 +1,99 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.SearchSourceRecordDto;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.support.TestModels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchServiceImplTests {
+
+    final UUID springCourse = UUID.randomUUID();
+    final UUID kafkaCourse = UUID.randomUUID();
+    final UUID kafkaModule = UUID.randomUUID();
+
+    SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        var courseRepository = mock(CourseRepository.class);
+        var moduleRepository = mock(ModuleRepository.class);
+        var lessonRepository = mock(LessonRepository.class);
+        when(courseRepository.findAllNameSearchSources()).thenReturn(List.of(
+                new SearchSourceRecordDto(springCourse, "Spring Boot Avançado"),
+                new SearchSourceRecordDto(kafkaCourse, "Mensageria")));
+        when(courseRepository.findAllDescriptionSearchSources()).thenReturn(List.of(
+                new SearchSourceRecordDto(springCourse, "Microsserviços com Spring e Kafka"),
+                new SearchSourceRecordDto(kafkaCourse, "Eventos distribuídos")));
+        when(moduleRepository.findAllSearchSources()).thenReturn(List.of(
+                new SearchSourceRecordDto(kafkaCourse, kafkaModule, kafkaModule, "Kafka Streams")));
+        when(lessonRepository.findAllSearchSources()).thenReturn(List.of());
+        searchService = new SearchServiceImpl(courseRepository, moduleRepository, lessonRepository);
+        searchService.rebuild();
+    }
+
+    @Test
+    void ranksStrongerFieldsFirst() {
+        Page<UUID> page = searchService.searchCourseIds("kafka", PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(kafkaCourse, springCourse);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void matchesPrefixesWithoutAccentsAndRequiresEveryTerm() {
+        assertThat(searchService.searchCourseIds("avanc", PageRequest.of(0, 10)).getContent())
+                .containsExactly(springCourse);
+        assertThat(searchService.searchCourseIds("spring kaf", PageRequest.of(0, 10)).getContent())
+                .containsExactly(springCourse);
+        assertThat(searchService.searchCourseIds("spring eventos", PageRequest.of(0, 10)).getContent())
+                .isEmpty();
+    }
+
+    @Test
+    void pagesRankedIds() {
+        Page<UUID> page = searchService.searchCourseIds("kafka", PageRequest.of(1, 1));
+
+        assertThat(page.getContent()).containsExactly(springCourse);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void appliesIncrementalUpdates() {
+        CourseModel course = TestModels.course("Docker");
+        course.setCourseId(UUID.randomUUID());
+        searchService.indexCourse(course);
+        ModuleModel module = TestModels.module("Compose", course);
+        module.setModuleId(UUID.randomUUID());
+        searchService.indexModule(module);
+        LessonModel lesson = TestModels.lesson("Volumes", module);
+        lesson.setLessonId(UUID.randomUUID());
+        searchService.indexLesson(lesson);
+
+        assertThat(searchService.searchCourseIds("volu", PageRequest.of(0, 10)).getContent())
+                .containsExactly(course.getCourseId());
+
+        searchService.removeModule(module);
+        assertThat(searchService.searchCourseIds("volumes", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchService.searchCourseIds("docker", PageRequest.of(0, 10)).getContent())
+                .containsExactly(course.getCourseId());
+
+        searchService.removeCourse(kafkaCourse);
+        assertThat(searchService.searchCourseIds("kafka", PageRequest.of(0, 10)).getContent())
+                .containsExactly(springCourse);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.services.NotificationOutboxService;
+import com.ead.course.services.SearchService;
+import com.ead.course.support.SqlStatementInspector;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:subscriptions;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ead.course.support.SqlStatementInspector"})
+class SubscriptionTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    LessonRepository lessonRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    CourseServiceImpl courseService;
+    CourseModel course;
+    UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        courseService = new CourseServiceImpl(courseRepository, moduleRepository, lessonRepository, userRepository,
+                mock(NotificationOutboxService.class), mock(PageQueries.class), mock(SearchService.class));
+        user = userRepository.save(TestModels.user("student@ead.com"));
+        course = courseRepository.save(TestModels.course("Spring Boot"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void decidesSubscriptionFromASingleStatement() {
+        SqlStatementInspector.clear();
+
+        assertThat(courseService.saveSubscriptionInCourse(course, user)).isTrue();
+
+        assertThat(SqlStatementInspector.statements()).hasSize(1);
+        assertThat(courseService.existsByCourseAndUser(course.getCourseId(), user.getUserId())).isTrue();
+    }
+
+    @Test
+    void rejectsDuplicateSubscriptionWithoutFailing() {
+        courseService.saveSubscriptionInCourse(course, user);
+
+        assertThat(courseService.saveSubscriptionInCourse(course, user)).isFalse();
+        assertThat(((Number) entityManager.createNativeQuery("select count(*) from tb_courses_users")
+                .getSingleResult()).longValue()).isEqualTo(1);
+    }
+}
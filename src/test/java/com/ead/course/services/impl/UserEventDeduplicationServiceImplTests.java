@@ -0,0 +1,96 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.dtos.UserEventRecordDto;
+import com.ead.course.enums.ActionType;
+import com.ead.course.models.UserEventFingerprintModel;
+import com.ead.course.repositories.UserEventFingerprintRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class UserEventDeduplicationServiceImplTests {
+
+    @Autowired
+    UserEventFingerprintRepository userEventFingerprintRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final UUID userId = UUID.randomUUID();
+
+    @Test
+    void skipsARedeliveredEventButNotAChangedOne() {
+        var deduplicationService = newService();
+        var created = event("ACTIVE", ActionType.CREATE);
+
+        assertThat(deduplicationService.isDuplicate(created)).isFalse();
+        deduplicationService.markApplied(List.of(created));
+
+        assertThat(deduplicationService.isDuplicate(created)).isTrue();
+        assertThat(deduplicationService.isDuplicate(event("BLOCKED", ActionType.UPDATE))).isFalse();
+        assertThat(meterRegistry.get("ead.course.user.events.dedup.hits").tag("source", "memory").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void appliesAnEarlierStateSentAgain() {
+        var deduplicationService = newService();
+        var active = event("ACTIVE", ActionType.UPDATE);
+        deduplicationService.markApplied(List.of(active));
+        deduplicationService.markApplied(List.of(event("BLOCKED", ActionType.UPDATE)));
+
+        assertThat(deduplicationService.isDuplicate(active)).isFalse();
+    }
+
+    @Test
+    void fallsBackToPersistedFingerprintsAfterARestart() {
+        var active = event("ACTIVE", ActionType.UPDATE);
+        userEventFingerprintRepository.save(fingerprint(active, LocalDateTime.now(ZoneId.of("UTC"))));
+
+        var deduplicationService = newService();
+
+        assertThat(deduplicationService.isDuplicate(active)).isTrue();
+        assertThat(meterRegistry.get("ead.course.user.events.dedup.hits").tag("source", "database").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void ignoresPersistedFingerprintsOutsideTheWindow() {
+        var active = event("ACTIVE", ActionType.UPDATE);
+        userEventFingerprintRepository.save(fingerprint(active, LocalDateTime.now(ZoneId.of("UTC")).minusHours(2)));
+
+        var deduplicationService = newService();
+
+        assertThat(deduplicationService.isDuplicate(active)).isFalse();
+        assertThat(deduplicationService.expire()).isEqualTo(1);
+    }
+
+    private UserEventDeduplicationServiceImpl newService() {
+        return new UserEventDeduplicationServiceImpl(userEventFingerprintRepository, transactionManager, meterRegistry,
+                Duration.ofHours(1), 1000);
+    }
+
+    private UserEventRecordDto event(String userStatus, ActionType actionType) {
+        return new UserEventRecordDto(userId, "student", "student@ead.com", "Student", userStatus, "STUDENT",
+                null, null, actionType.toString());
+    }
+
+    private static UserEventFingerprintModel fingerprint(UserEventRecordDto userEvent, LocalDateTime processedDate) {
+        var model = new UserEventFingerprintModel();
+        model.setUserId(userEvent.userId());
+        model.setFingerprint(UserEventDeduplicationServiceImpl.fingerprint(userEvent));
+        model.setProcessedDate(processedDate);
+        return model;
+    }
+}
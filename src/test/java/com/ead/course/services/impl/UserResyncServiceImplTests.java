@@ -0,0 +1,217 @@
+package com.ead.course.services.impl;
+
+import com.ead.course.clients.AuthUserClient;
+import com.ead.course.dtos.UserResyncStatusRecordDto;
+import com.ead.course.endpoints.UserResyncEndpoint;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.repositories.UserResyncCheckpointRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserResyncServiceImplTests {
+
+    private static final int PAGE_SIZE = 2;
+    private static final Pattern PAGE = Pattern.compile("page=(\\d+)");
+
+    @Autowired
+    UserResyncCheckpointRepository userResyncCheckpointRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    final UserRepository userRepository = mock(UserRepository.class);
+    final List<UUID> users = new CopyOnWriteArrayList<>(Stream.generate(UUID::randomUUID).limit(5)
+            .sorted(UserResyncServiceImpl.USER_ID_ORDER).toList());
+    final List<UUID> allUsers = List.copyOf(users);
+    final List<Integer> requestedPages = new CopyOnWriteArrayList<>();
+    final List<UUID> upserted = new CopyOnWriteArrayList<>();
+    final AtomicReference<UUID> removeAfterFirstPage = new AtomicReference<>();
+
+    HttpServer authUserStub;
+
+    @BeforeEach
+    void startAuthUserStub() throws IOException {
+        userResyncCheckpointRepository.deleteAll();
+        authUserStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        authUserStub.createContext("/users", exchange -> {
+            Matcher matcher = PAGE.matcher(exchange.getRequestURI().getQuery());
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+            requestedPages.add(page);
+            byte[] body = page(page).getBytes(StandardCharsets.UTF_8);
+            UUID removed = removeAfterFirstPage.getAndSet(null);
+            if (removed != null) {
+                users.remove(removed);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        authUserStub.start();
+        doAnswer(invocation -> {
+            Collection<UserModel> page = invocation.getArgument(0);
+            page.forEach(user -> upserted.add(user.getUserId()));
+            return null;
+        }).when(userRepository).upsertUsers(anyCollection());
+    }
+
+    @AfterEach
+    void stopAuthUserStub() {
+        authUserStub.stop(0);
+    }
+
+    @Test
+    void upsertsEveryPageAndCompletesTheCheckpoint() throws InterruptedException {
+        var status = startAndAwait(newEndpoint(), false);
+
+        assertThat(upserted).containsExactlyElementsOf(allUsers);
+        assertThat(requestedPages).containsExactly(0, 1, 2);
+        assertThat(status.nextPage()).isEqualTo(3);
+        assertThat(status.lastUserId()).isEqualTo(allUsers.get(4));
+        assertThat(status.syncedUsers()).isEqualTo(5);
+        assertThat(status.completedDate()).isNotNull();
+    }
+
+    @Test
+    void resumesByReReadingTheLastWrittenPage() throws InterruptedException {
+        doAnswer(invocation -> {
+            Collection<UserModel> page = invocation.getArgument(0);
+            if (page.iterator().next().getUserId().equals(allUsers.get(2))) {
+                throw new IllegalStateException("database unavailable");
+            }
+            page.forEach(user -> upserted.add(user.getUserId()));
+            return null;
+        }).when(userRepository).upsertUsers(anyCollection());
+
+        var failed = startAndAwait(newEndpoint(), false);
+        assertThat(failed.nextPage()).isEqualTo(1);
+        assertThat(failed.lastUserId()).isEqualTo(allUsers.get(1));
+        assertThat(failed.completedDate()).isNull();
+
+        doAnswer(invocation -> {
+            Collection<UserModel> page = invocation.getArgument(0);
+            page.forEach(user -> upserted.add(user.getUserId()));
+            return null;
+        }).when(userRepository).upsertUsers(anyCollection());
+        requestedPages.clear();
+        var resumed = startAndAwait(newEndpoint(), false);
+
+        assertThat(requestedPages).containsExactly(0, 1, 2);
+        assertThat(upserted).containsExactlyElementsOf(allUsers);
+        assertThat(resumed.syncedUsers()).isEqualTo(5);
+    }
+
+    @Test
+    void reReadsTheBoundaryPageWhenUsersAreRemovedMidResync() throws InterruptedException {
+        removeAfterFirstPage.set(allUsers.get(0));
+
+        var status = startAndAwait(newEndpoint(), false);
+
+        assertThat(requestedPages).containsExactly(0, 1, 0, 1);
+        assertThat(upserted).containsExactlyElementsOf(allUsers);
+        assertThat(status.syncedUsers()).isEqualTo(5);
+        assertThat(status.completedDate()).isNotNull();
+    }
+
+    @Test
+    void restartIgnoresACompletedCheckpoint() throws InterruptedException {
+        var endpoint = newEndpoint();
+        startAndAwait(endpoint, false);
+        requestedPages.clear();
+
+        var status = startAndAwait(endpoint, true);
+
+        assertThat(requestedPages).containsExactly(0, 1, 2);
+        assertThat(status.syncedUsers()).isEqualTo(5);
+    }
+
+    @Test
+    void userIdOrderIsPostgresUuidByteOrder() {
+        List<UUID> userIds = Stream.concat(Stream.of(
+                        UUID.fromString("00000000-0000-0000-0000-000000000000"),
+                        UUID.fromString("7fffffff-ffff-ffff-7fff-ffffffffffff"),
+                        UUID.fromString("80000000-0000-0000-8000-000000000000"),
+                        UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff")),
+                Stream.generate(UUID::randomUUID).limit(200)).toList();
+        List<UUID> byUnsignedBytes = userIds.stream()
+                .sorted((left, right) -> Arrays.compareUnsigned(bytes(left), bytes(right)))
+                .toList();
+
+        assertThat(userIds.stream().sorted(UserResyncServiceImpl.USER_ID_ORDER).toList()).isEqualTo(byUnsignedBytes);
+        assertThat(userIds.stream().sorted().toList()).isNotEqualTo(byUnsignedBytes);
+    }
+
+    private static byte[] bytes(UUID userId) {
+        return ByteBuffer.allocate(16)
+                .putLong(userId.getMostSignificantBits())
+                .putLong(userId.getLeastSignificantBits())
+                .array();
+    }
+
+    private UserResyncEndpoint newEndpoint() {
+        var authUserClient = new AuthUserClient(RestClient.builder(),
+                "http://localhost:" + authUserStub.getAddress().getPort());
+        return new UserResyncEndpoint(new UserResyncServiceImpl(authUserClient, userRepository,
+                userResyncCheckpointRepository, transactionManager, new SimpleMeterRegistry(), PAGE_SIZE));
+    }
+
+    private static UserResyncStatusRecordDto startAndAwait(UserResyncEndpoint endpoint, boolean restart)
+            throws InterruptedException {
+        endpoint.start(restart);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        UserResyncStatusRecordDto status = endpoint.status();
+        while (status.running() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = endpoint.status();
+        }
+        assertThat(status.running()).isFalse();
+        return status;
+    }
+
+    private String page(int page) {
+        List<UUID> current = List.copyOf(users);
+        int totalPages = (current.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        String content = current.stream()
+                .skip((long) page * PAGE_SIZE)
+                .limit(PAGE_SIZE)
+                .map(userId -> """
+                        {"userId":"%s","username":"u","email":"%s@ead.com","fullName":"User","userStatus":"ACTIVE","userType":"STUDENT"}"""
+                        .formatted(userId, userId))
+                .collect(Collectors.joining(","));
+        return """
+                {"content":[%s],"page":{"size":%d,"number":%d,"totalElements":%d,"totalPages":%d}}"""
+                .formatted(content, PAGE_SIZE, page, current.size(), totalPages);
+    }
+}
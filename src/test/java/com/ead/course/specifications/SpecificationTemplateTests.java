@@ -0,0 +1,130 @@
+package com.ead.course.specifications;
+
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.models.UserModel;
+import com.ead.course.repositories.CourseRepository;
+import com.ead.course.repositories.LessonRepository;
+import com.ead.course.repositories.ModuleRepository;
+import com.ead.course.repositories.UserRepository;
+import com.ead.course.support.SqlStatementInspector;
+import com.ead.course.support.TestModels;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ead.course.support.SqlStatementInspector"
+})
+class SpecificationTemplateTests {
+
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    LessonRepository lessonRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    CourseModel course;
+    CourseModel otherCourse;
+    ModuleModel module;
+    UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestModels.user("student@ead.com"));
+        UserModel otherUser = userRepository.save(TestModels.user("other@ead.com"));
+        course = TestModels.course("Spring Boot");
+        course.setUsers(Set.of(user));
+        course = courseRepository.save(course);
+        otherCourse = TestModels.course("Kafka");
+        otherCourse.setUsers(Set.of(otherUser));
+        otherCourse = courseRepository.save(otherCourse);
+
+        module = moduleRepository.save(TestModels.module("Intro", course));
+        moduleRepository.save(TestModels.module("Advanced", course));
+        ModuleModel otherModule = moduleRepository.save(TestModels.module("Streams", otherCourse));
+        lessonRepository.save(TestModels.lesson("Setup", module));
+        lessonRepository.save(TestModels.lesson("Topics", otherModule));
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementInspector.clear();
+    }
+
+    @Test
+    void moduleCourseIdFiltersOnForeignKey() {
+        Page<ModuleModel> page = moduleRepository.findAll(
+                SpecificationTemplate.moduleCourseId(course.getCourseId()), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(ModuleModel::getTitle)
+                .containsExactlyInAnyOrder("Intro", "Advanced");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertNoCartesianProductOrDistinct(listingStatements("tb_modules"));
+        assertThat(listingStatements("tb_modules")).noneMatch(sql -> sql.contains("tb_courses"));
+    }
+
+    @Test
+    void lessonModuleIdFiltersOnForeignKey() {
+        Page<LessonModel> page = lessonRepository.findAll(
+                SpecificationTemplate.lessonModuleId(module.getModuleId()), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(LessonModel::getTitle).containsExactly("Setup");
+        assertNoCartesianProductOrDistinct(listingStatements("tb_lessons"));
+        assertThat(listingStatements("tb_lessons")).noneMatch(sql -> sql.contains("from tb_modules"));
+    }
+
+    @Test
+    void userCourseIdJoinsEnrollmentTable() {
+        Page<UserModel> page = userRepository.findAll(
+                SpecificationTemplate.userCourseId(course.getCourseId()), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(UserModel::getUserId).containsExactly(user.getUserId());
+        assertNoCartesianProductOrDistinct(listingStatements("tb_users"));
+        assertThat(listingStatements("tb_users")).allMatch(sql -> sql.contains("join tb_courses_users"));
+    }
+
+    @Test
+    void courseUserIdJoinsEnrollmentTable() {
+        Page<CourseModel> page = courseRepository.findAll(
+                SpecificationTemplate.courseUserId(user.getUserId()), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(CourseModel::getCourseId).containsExactly(course.getCourseId());
+        assertNoCartesianProductOrDistinct(listingStatements("tb_courses"));
+        assertThat(listingStatements("tb_courses")).allMatch(sql -> sql.contains("join tb_courses_users"));
+    }
+
+    private static List<String> listingStatements(String table) {
+        List<String> statements = SqlStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .toList();
+        assertThat(statements).isNotEmpty();
+        return statements;
+    }
+
+    private static void assertNoCartesianProductOrDistinct(List<String> statements) {
+        assertThat(statements).allSatisfy(sql -> {
+            assertThat(sql).doesNotContain("distinct");
+            assertThat(sql).doesNotContain("cross join");
+            assertThat(sql).doesNotContainPattern("from \\w+ \\w+,");
+            assertThat(sql).doesNotContainPattern(" in \\(select");
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.ead.course.support;
+
+import com.ead.course.enums.CourseLevel;
+import com.ead.course.enums.CourseStatus;
+import com.ead.course.enums.UserStatus;
+import com.ead.course.enums.UserType;
+import com.ead.course.models.CourseModel;
+import com.ead.course.models.LessonModel;
+import com.ead.course.models.ModuleModel;
+import com.ead.course.models.UserModel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public final class TestModels {
+
+    private TestModels() {
+    }
+
+    public static CourseModel course(String name) {
+        var courseModel = new CourseModel();
+        courseModel.setName(name);
+        courseModel.setDescription(name + " description");
+        courseModel.setCreationDate(LocalDateTime.now());
+        courseModel.setLastUpdateDate(LocalDateTime.now());
+        courseModel.setCourseStatus(CourseStatus.IN_PROGRESS);
+        courseModel.setCourseLevel(CourseLevel.BEGINNER);
+        courseModel.setUserInstructor(UUID.randomUUID());
+        return courseModel;
+    }
+
+    public static ModuleModel module(String title, CourseModel courseModel) {
+        var moduleModel = new ModuleModel();
+        moduleModel.setTitle(title);
+        moduleModel.setDescription(title + " description");
+        moduleModel.setCreationDate(LocalDateTime.now());
+        moduleModel.setCourse(courseModel);
+        return moduleModel;
+    }
+
+    public static LessonModel lesson(String title, ModuleModel moduleModel) {
+        var lessonModel = new LessonModel();
+        lessonModel.setTitle(title);
+        lessonModel.setDescription(title + " description");
+        lessonModel.setVideoUrl("https://videos.ead.com/" + title);
+        lessonModel.setCreationDate(LocalDateTime.now());
+        lessonModel.setModule(moduleModel);
+        return lessonModel;
+    }
+
+    public static UserModel user(String email) {
+        var userModel = new UserModel();
+        userModel.setEmail(email);
+        userModel.setFullName("User " + email);
+        userModel.setUserStatus(UserStatus.ACTIVE.toString());
+        userModel.setUserType(UserType.STUDENT.toString());
+        return userModel;
+    }
+}